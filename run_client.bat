@@ -11,14 +11,23 @@ if exist "lib\lwjgl" (
 )
 
 rem 查找所有 Java 源文件
+rem 向量化积分内核依赖孵化模块 jdk.incubator.vector，不可用时排除该源文件并回退标量内核
+set "VECTOR_FLAGS="
+java --list-modules 2>nul | findstr /b /c:"jdk.incubator.vector@" >nul
+if not errorlevel 1 set "VECTOR_FLAGS=--add-modules jdk.incubator.vector"
+
 set "SOURCES="
 for /r "src\main\java" %%f in (*.java) do (
-  set "SOURCES=!SOURCES! %%f"
+  if defined VECTOR_FLAGS (
+    set "SOURCES=!SOURCES! %%f"
+  ) else if /i not "%%~nxf"=="VectorIntegrationKernel.java" (
+    set "SOURCES=!SOURCES! %%f"
+  )
 )
 
 rem 编译
 echo Compiling Java sources...
-javac -encoding UTF-8 -d build\classes -cp "%LWJGL_CP%" %SOURCES%
+javac %VECTOR_FLAGS% -encoding UTF-8 -d build\classes -cp "%LWJGL_CP%" %SOURCES%
 if errorlevel 1 (
   echo Compilation failed!
   exit /b 1
@@ -56,4 +65,4 @@ if "%HOST%"=="" (
 
 rem 运行客户端
 echo Running client connecting to %HOST%...
-java %JAVA_FLAGS% -cp "%CLASSPATH%" com.gameengine.example.ClientLauncher "%HOST%"
+java %VECTOR_FLAGS% %JAVA_FLAGS% -cp "%CLASSPATH%" com.gameengine.example.ClientLauncher "%HOST%"
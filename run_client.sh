@@ -7,8 +7,15 @@ LWJGL_CP="."
 if [ -d "lib/lwjgl" ]; then
   LWJGL_CP=".:lib/lwjgl/*"
 fi
-SOURCES=$(find src/main/java -type f -name "*.java")
-javac -d build/classes -cp "$LWJGL_CP" $SOURCES
+# 向量化积分内核依赖孵化模块 jdk.incubator.vector，不可用时排除该源文件并回退标量内核
+VECTOR_FLAGS=""
+if java --list-modules 2>/dev/null | grep -q "^jdk.incubator.vector@"; then
+  VECTOR_FLAGS="--add-modules jdk.incubator.vector"
+  SOURCES=$(find src/main/java -type f -name "*.java")
+else
+  SOURCES=$(find src/main/java -type f -name "*.java" ! -name "VectorIntegrationKernel.java")
+fi
+javac $VECTOR_FLAGS -d build/classes -cp "$LWJGL_CP" $SOURCES
 
 LWJGL_DIR="lib/lwjgl"
 CLASSPATH="build/classes"
@@ -36,9 +43,9 @@ fi
 
 HOST="${1:-127.0.0.1}"
 if [[ "$OS" == Darwin* ]]; then
-  exec java -XstartOnFirstThread $JAVA_FLAGS -cp "$CLASSPATH" com.gameengine.example.ClientLauncher "$HOST"
+  exec java -XstartOnFirstThread $VECTOR_FLAGS $JAVA_FLAGS -cp "$CLASSPATH" com.gameengine.example.ClientLauncher "$HOST"
 else
-  exec java $JAVA_FLAGS -cp "$CLASSPATH" com.gameengine.example.ClientLauncher "$HOST"
+  exec java $VECTOR_FLAGS $JAVA_FLAGS -cp "$CLASSPATH" com.gameengine.example.ClientLauncher "$HOST"
 fi
 
 
@@ -0,0 +1,50 @@
+@echo off
+setlocal enabledelayedexpansion
+
+rem 创建编译目录
+if not exist "build\classes" mkdir "build\classes"
+
+rem 设置类路径
+set "LWJGL_CP=."
+set "HAS_LWJGL="
+if exist "lib\lwjgl" (
+  set "LWJGL_CP=.;lib\lwjgl\*"
+  set "HAS_LWJGL=1"
+)
+
+rem 查找所有 Java 源文件
+rem 向量化积分内核依赖孵化模块 jdk.incubator.vector，不可用时排除该源文件并回退标量内核
+set "VECTOR_FLAGS="
+java --list-modules 2>nul | findstr /b /c:"jdk.incubator.vector@" >nul
+if not errorlevel 1 set "VECTOR_FLAGS=--add-modules jdk.incubator.vector"
+
+rem 无 LWJGL 时排除依赖它的 GPU 渲染源文件，服务器只使用 HEADLESS 后端
+set "SOURCES="
+for /r "src\main\java" %%f in (*.java) do (
+  set "SKIP="
+  if not defined VECTOR_FLAGS if /i "%%~nxf"=="VectorIntegrationKernel.java" set "SKIP=1"
+  if not defined HAS_LWJGL (
+    if /i "%%~nxf"=="GPURenderer.java" set "SKIP=1"
+    if /i "%%~nxf"=="GLCommandSink.java" set "SKIP=1"
+  )
+  if not defined SKIP set "SOURCES=!SOURCES! %%f"
+)
+
+rem 编译
+echo Compiling Java sources...
+javac %VECTOR_FLAGS% -encoding UTF-8 -d build\classes -cp "%LWJGL_CP%" %SOURCES%
+if errorlevel 1 (
+  echo Compilation failed!
+  exit /b 1
+)
+echo Compilation successful.
+
+rem 端口与 tick 频率参数（默认 7777 / 60）
+set "PORT=%~1"
+if "%PORT%"=="" set "PORT=7777"
+set "TICK_RATE=%~2"
+if "%TICK_RATE%"=="" set "TICK_RATE=60"
+
+rem 运行专用服务器（无窗口，不需要 LWJGL）
+echo Running dedicated server on port %PORT%...
+java %VECTOR_FLAGS% -cp "build\classes" com.gameengine.example.DedicatedServer "%PORT%" "%TICK_RATE%" %3
@@ -0,0 +1,26 @@
+#!/bin/bash
+set -e
+
+# 编译（专用服务器运行时不需要 LWJGL）
+mkdir -p build/classes
+LWJGL_CP="."
+EXCLUDES=""
+if [ -d "lib/lwjgl" ]; then
+  LWJGL_CP=".:lib/lwjgl/*"
+else
+  # 无 LWJGL 时排除依赖它的 GPU 渲染源文件，服务器只使用 HEADLESS 后端
+  EXCLUDES="! -name GPURenderer.java ! -name GLCommandSink.java"
+fi
+# 向量化积分内核依赖孵化模块 jdk.incubator.vector，不可用时排除该源文件并回退标量内核
+VECTOR_FLAGS=""
+if java --list-modules 2>/dev/null | grep -q "^jdk.incubator.vector@"; then
+  VECTOR_FLAGS="--add-modules jdk.incubator.vector"
+else
+  EXCLUDES="$EXCLUDES ! -name VectorIntegrationKernel.java"
+fi
+SOURCES=$(find src/main/java -type f -name "*.java" $EXCLUDES)
+javac $VECTOR_FLAGS -encoding UTF-8 -d build/classes -cp "$LWJGL_CP" $SOURCES
+
+PORT="${1:-7777}"
+TICK_RATE="${2:-60}"
+exec java $VECTOR_FLAGS -cp "build/classes" com.gameengine.example.DedicatedServer "$PORT" "$TICK_RATE" "${@:3}"
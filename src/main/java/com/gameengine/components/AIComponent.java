@@ -0,0 +1,102 @@
+package com.gameengine.components;
+
+import com.gameengine.core.Component;
+
+public class AIComponent extends Component<AIComponent> {
+    // 决策状态：目标速度与换目标计时，全部为基本类型，不再经由句柄表装箱
+    private float targetVX;
+    private float targetVY;
+    private float retargetTimer;
+    private float retargetDelay;
+    private boolean hasTarget;
+    // 调度状态由 AIScheduler 维护：下次更新的 tick、上次更新的模拟时间与分片相位
+    private long nextUpdateTick;
+    private double lastUpdateTime;
+    private int phase;
+    private int lodInterval;
+
+    public AIComponent() {
+        this.phase = -1;
+        this.lodInterval = 1;
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void render() {
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.targetVX = 0;
+        this.targetVY = 0;
+        this.retargetTimer = 0;
+        this.retargetDelay = 0;
+        this.hasTarget = false;
+        this.nextUpdateTick = 0;
+        this.lastUpdateTime = 0;
+        this.phase = -1;
+        this.lodInterval = 1;
+    }
+
+    public void setTarget(float vx, float vy, float delay) {
+        this.targetVX = vx;
+        this.targetVY = vy;
+        this.retargetDelay = delay;
+        this.retargetTimer = 0;
+        this.hasTarget = true;
+    }
+
+    // 累加经过的时间，返回是否需要选择新目标
+    public boolean advanceRetarget(float elapsed) {
+        retargetTimer += elapsed;
+        return !hasTarget || retargetTimer >= retargetDelay;
+    }
+
+    public float getTargetVX() {
+        return targetVX;
+    }
+
+    public float getTargetVY() {
+        return targetVY;
+    }
+
+    public boolean hasTarget() {
+        return hasTarget;
+    }
+
+    public long getNextUpdateTick() {
+        return nextUpdateTick;
+    }
+
+    public void setNextUpdateTick(long tick) {
+        this.nextUpdateTick = tick;
+    }
+
+    public double getLastUpdateTime() {
+        return lastUpdateTime;
+    }
+
+    public void setLastUpdateTime(double time) {
+        this.lastUpdateTime = time;
+    }
+
+    public int getPhase() {
+        return phase;
+    }
+
+    public void setPhase(int phase) {
+        this.phase = phase;
+    }
+
+    public int getLodInterval() {
+        return lodInterval;
+    }
+
+    public void setLodInterval(int interval) {
+        this.lodInterval = interval;
+    }
+}
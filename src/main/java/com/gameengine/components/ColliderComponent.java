@@ -0,0 +1,96 @@
+package com.gameengine.components;
+
+import com.gameengine.core.Component;
+
+public class ColliderComponent extends Component<ColliderComponent> {
+    public enum Shape {
+        CIRCLE,
+        AABB
+    }
+
+    // 形状中心相对 TransformComponent 位置的偏移
+    private Shape shape;
+    private float radius;
+    private float halfWidth;
+    private float halfHeight;
+    private float offsetX;
+    private float offsetY;
+    // layer 为自身所在层，mask 为愿意与之碰撞的层；双方互相匹配才产生碰撞
+    private int layer;
+    private int mask;
+
+    public ColliderComponent(float radius) {
+        this.shape = Shape.CIRCLE;
+        this.radius = radius;
+        this.halfWidth = radius;
+        this.halfHeight = radius;
+        this.layer = 1;
+        this.mask = -1;
+    }
+
+    public ColliderComponent(float halfWidth, float halfHeight) {
+        this.shape = Shape.AABB;
+        this.halfWidth = halfWidth;
+        this.halfHeight = halfHeight;
+        this.radius = (float) Math.sqrt(halfWidth * halfWidth + halfHeight * halfHeight);
+        this.layer = 1;
+        this.mask = -1;
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void render() {
+    }
+
+    public boolean canCollideWith(ColliderComponent other) {
+        return (layer & other.mask) != 0 && (other.layer & mask) != 0;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    public float getHalfWidth() {
+        return halfWidth;
+    }
+
+    public float getHalfHeight() {
+        return halfHeight;
+    }
+
+    public float getOffsetX() {
+        return offsetX;
+    }
+
+    public float getOffsetY() {
+        return offsetY;
+    }
+
+    public void setOffset(float offsetX, float offsetY) {
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+    }
+
+    public int getLayer() {
+        return layer;
+    }
+
+    public void setLayer(int layer) {
+        this.layer = layer;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public void setMask(int mask) {
+        this.mask = mask;
+    }
+}
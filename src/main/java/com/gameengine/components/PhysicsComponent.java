@@ -1,102 +1,230 @@
 package com.gameengine.components;
 
+import com.gameengine.core.Archetype;
 import com.gameengine.core.Component;
 import com.gameengine.math.Vector2;
 
 public class PhysicsComponent extends Component<PhysicsComponent> {
-    private Vector2 velocity;
-    private Vector2 acceleration;
+    // 未加入场景时使用本地状态；加入后作为 Archetype 列的视图
+    private float vx, vy;
+    private float ax, ay;
     private float mass;
     private float friction;
     private boolean useGravity;
     private Vector2 gravity;
-    
+    private Archetype archetype;
+    private int row;
+
     public PhysicsComponent() {
-        this.velocity = new Vector2();
-        this.acceleration = new Vector2();
         this.mass = 1.0f;
         this.friction = 0.9f;
         this.useGravity = false;
         this.gravity = new Vector2(0, 9.8f);
+        this.row = -1;
     }
-    
+
     public PhysicsComponent(float mass) {
         this();
         this.mass = mass;
     }
-    
+
     @Override
     public void initialize() {
     }
-    
+
     @Override
     public void render() {
     }
-    
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        if (archetype != null) {
+            archetype.simulated[row] = enabled;
+            archetype.idleTicks[row] = 0;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (archetype != null) archetype.simulated[row] = false;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        writeVelocity(0, 0);
+        writeAcceleration(0, 0);
+    }
+
+    public void bindStorage(Archetype archetype, int row) {
+        if (this.archetype == null && archetype != null) {
+            archetype.velX[row] = vx;
+            archetype.velY[row] = vy;
+            archetype.accX[row] = ax;
+            archetype.accY[row] = ay;
+            archetype.friction[row] = friction;
+            archetype.mass[row] = mass;
+            archetype.simulated[row] = enabled;
+            archetype.idleTicks[row] = 0;
+            this.archetype = archetype;
+            this.row = row;
+            syncGravity();
+            return;
+        }
+        if (this.archetype != null && archetype == null) {
+            vx = this.archetype.velX[this.row];
+            vy = this.archetype.velY[this.row];
+            ax = this.archetype.accX[this.row];
+            ay = this.archetype.accY[this.row];
+        }
+        this.archetype = archetype;
+        this.row = row;
+    }
+
+    private void syncGravity() {
+        if (archetype == null) return;
+        archetype.gravX[row] = useGravity ? gravity.x : 0;
+        archetype.gravY[row] = useGravity ? gravity.y : 0;
+        archetype.idleTicks[row] = 0;
+    }
+
+    // 休眠由 PhysicsSystem 按速度阈值判定；任何速度或加速度写入都会唤醒
+    public boolean isSleeping() {
+        return archetype != null && archetype.idleTicks[row] < 0;
+    }
+
+    public void wake() {
+        if (archetype != null) archetype.idleTicks[row] = 0;
+    }
+
+    private void writeVelocity(float x, float y) {
+        if (archetype != null) {
+            archetype.velX[row] = x;
+            archetype.velY[row] = y;
+            archetype.idleTicks[row] = 0;
+        } else {
+            vx = x;
+            vy = y;
+        }
+    }
+
+    private void writeAcceleration(float x, float y) {
+        if (archetype != null) {
+            archetype.accX[row] = x;
+            archetype.accY[row] = y;
+            archetype.idleTicks[row] = 0;
+        } else {
+            ax = x;
+            ay = y;
+        }
+    }
+
+    public float getVelocityX() {
+        return archetype != null ? archetype.velX[row] : vx;
+    }
+
+    public float getVelocityY() {
+        return archetype != null ? archetype.velY[row] : vy;
+    }
+
+    public float getAccelerationX() {
+        return archetype != null ? archetype.accX[row] : ax;
+    }
+
+    public float getAccelerationY() {
+        return archetype != null ? archetype.accY[row] : ay;
+    }
+
     public void applyForce(Vector2 force) {
+        applyForce(force.x, force.y);
+    }
+
+    public void applyForce(float fx, float fy) {
         if (mass > 0) {
-            acceleration = acceleration.add(force.multiply(1.0f / mass));
+            writeAcceleration(getAccelerationX() + fx / mass, getAccelerationY() + fy / mass);
         }
     }
-    
+
     public void applyImpulse(Vector2 impulse) {
+        applyImpulse(impulse.x, impulse.y);
+    }
+
+    public void applyImpulse(float ix, float iy) {
         if (mass > 0) {
-            velocity = velocity.add(impulse.multiply(1.0f / mass));
+            writeVelocity(getVelocityX() + ix / mass, getVelocityY() + iy / mass);
         }
     }
-    
+
     public void setVelocity(Vector2 velocity) {
-        this.velocity = new Vector2(velocity);
+        writeVelocity(velocity.x, velocity.y);
     }
-    
+
     public void setVelocity(float x, float y) {
-        this.velocity = new Vector2(x, y);
+        writeVelocity(x, y);
     }
-    
+
     public void setAcceleration(Vector2 acceleration) {
-        this.acceleration = new Vector2(acceleration);
+        writeAcceleration(acceleration.x, acceleration.y);
     }
-    
+
     public void addVelocity(Vector2 delta) {
-        this.velocity = velocity.add(delta);
+        addVelocity(delta.x, delta.y);
     }
-    
+
+    public void addVelocity(float dx, float dy) {
+        writeVelocity(getVelocityX() + dx, getVelocityY() + dy);
+    }
+
     public void setGravity(Vector2 gravity) {
         this.gravity = new Vector2(gravity);
+        syncGravity();
     }
-    
+
     public void setUseGravity(boolean useGravity) {
         this.useGravity = useGravity;
+        syncGravity();
     }
-    
+
     public void setFriction(float friction) {
         this.friction = Math.max(0, Math.min(1, friction));
+        if (archetype != null) archetype.friction[row] = this.friction;
     }
-    
+
     public void setMass(float mass) {
         this.mass = Math.max(0.1f, mass);
+        if (archetype != null) archetype.mass[row] = this.mass;
     }
-    
+
     public Vector2 getVelocity() {
-        return new Vector2(velocity);
+        return new Vector2(getVelocityX(), getVelocityY());
+    }
+
+    public Vector2 getVelocity(Vector2 out) {
+        return out.set(getVelocityX(), getVelocityY());
     }
-    
+
     public Vector2 getAcceleration() {
-        return new Vector2(acceleration);
+        return new Vector2(getAccelerationX(), getAccelerationY());
+    }
+
+    public Vector2 getAcceleration(Vector2 out) {
+        return out.set(getAccelerationX(), getAccelerationY());
     }
-    
+
     public float getMass() {
         return mass;
     }
-    
+
     public float getFriction() {
         return friction;
     }
-    
+
     public boolean isUseGravity() {
         return useGravity;
     }
-    
+
     public Vector2 getGravity() {
         return new Vector2(gravity);
     }
@@ -3,6 +3,7 @@ package com.gameengine.components;
 import com.gameengine.core.Component;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
 
 public class RenderComponent extends Component<RenderComponent> {
     private IRenderer renderer;
@@ -61,25 +62,34 @@ public class RenderComponent extends Component<RenderComponent> {
             return;
         }
         
-        Vector2 position = transform.getPosition();
+        Scene scene = owner.getScene();
+        float alpha = scene != null ? scene.getInterpolationAlpha() : 1f;
+        float x = transform.getInterpolatedX(alpha);
+        float y = transform.getInterpolatedY(alpha);
         
         switch (renderType) {
             case RECTANGLE:
-                renderer.drawRect(position.x, position.y, size.x, size.y, 
+                renderer.drawRect(x, y, size.x, size.y, 
                                 color.r, color.g, color.b, color.a);
                 break;
             case CIRCLE:
-                renderer.drawCircle(position.x + size.x/2, position.y + size.y/2, 
+                renderer.drawCircle(x + size.x/2, y + size.y/2, 
                                   size.x/2, 16, color.r, color.g, color.b, color.a);
                 break;
             case LINE:
-                renderer.drawLine(position.x, position.y, 
-                                position.x + size.x, position.y + size.y,
+                renderer.drawLine(x, y, 
+                                x + size.x, y + size.y,
                                 color.r, color.g, color.b, color.a);
                 break;
         }
     }
     
+    @Override
+    public void reset() {
+        super.reset();
+        this.visible = true;
+    }
+    
     public void setRenderer(IRenderer renderer) {
         this.renderer = renderer;
     }
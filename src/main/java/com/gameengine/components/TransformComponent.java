@@ -1,74 +1,149 @@
 package com.gameengine.components;
 
+import com.gameengine.core.Archetype;
 import com.gameengine.core.Component;
 import com.gameengine.math.Vector2;
 
 public class TransformComponent extends Component<TransformComponent> {
-    private Vector2 position;
+    // 未加入场景时使用本地状态；加入后作为 Archetype 列的视图
+    private float x;
+    private float y;
+    private Archetype archetype;
+    private int row;
     private Vector2 scale;
     private float rotation;
-    
+
     public TransformComponent() {
-        this.position = new Vector2();
+        this.x = 0;
+        this.y = 0;
+        this.row = -1;
         this.scale = new Vector2(1, 1);
         this.rotation = 0;
     }
-    
+
     public TransformComponent(Vector2 position) {
         this();
-        this.position = new Vector2(position);
+        this.x = position.x;
+        this.y = position.y;
     }
-    
+
     public TransformComponent(Vector2 position, Vector2 scale, float rotation) {
-        this.position = new Vector2(position);
+        this();
+        this.x = position.x;
+        this.y = position.y;
         this.scale = new Vector2(scale);
         this.rotation = rotation;
     }
-    
+
     @Override
     public void initialize() {
     }
-    
+
     @Override
     public void render() {
     }
-    
+
+    @Override
+    public void reset() {
+        super.reset();
+        setXY(0, 0);
+        this.scale = new Vector2(1, 1);
+        this.rotation = 0;
+    }
+
+    public void bindStorage(Archetype archetype, int row) {
+        if (this.archetype == null && archetype != null) {
+            archetype.posX[row] = x;
+            archetype.posY[row] = y;
+            archetype.prevX[row] = x;
+            archetype.prevY[row] = y;
+        } else if (this.archetype != null && archetype == null) {
+            x = this.archetype.posX[this.row];
+            y = this.archetype.posY[this.row];
+        }
+        this.archetype = archetype;
+        this.row = row;
+    }
+
+    public void setXY(float newX, float newY) {
+        if (archetype != null) {
+            archetype.posX[row] = newX;
+            archetype.posY[row] = newY;
+        } else {
+            x = newX;
+            y = newY;
+        }
+    }
+
+    public float getX() {
+        return archetype != null ? archetype.posX[row] : x;
+    }
+
+    public float getY() {
+        return archetype != null ? archetype.posY[row] : y;
+    }
+
+    // alpha 为固定步长累加器的剩余比例，1 表示当前位置
+    public float getInterpolatedX(float alpha) {
+        if (archetype == null) return x;
+        float prev = archetype.prevX[row];
+        return prev + (archetype.posX[row] - prev) * alpha;
+    }
+
+    public float getInterpolatedY(float alpha) {
+        if (archetype == null) return y;
+        float prev = archetype.prevY[row];
+        return prev + (archetype.posY[row] - prev) * alpha;
+    }
+
+    public Vector2 getInterpolatedPosition(float alpha, Vector2 out) {
+        return out.set(getInterpolatedX(alpha), getInterpolatedY(alpha));
+    }
+
     public void moveTo(Vector2 newPosition) {
-        this.position = new Vector2(newPosition);
+        setXY(newPosition.x, newPosition.y);
     }
-    
+
     public void translate(Vector2 delta) {
-        this.position = position.add(delta);
+        translate(delta.x, delta.y);
     }
-    
+
+    public void translate(float dx, float dy) {
+        setXY(getX() + dx, getY() + dy);
+    }
+
     public void rotate(float angle) {
         this.rotation += angle;
     }
-    
+
     public void setRotation(float angle) {
         this.rotation = angle;
     }
-    
+
     public void scale(Vector2 scaleFactor) {
         this.scale = new Vector2(this.scale.x * scaleFactor.x, this.scale.y * scaleFactor.y);
     }
-    
+
     public void setScale(Vector2 newScale) {
         this.scale = new Vector2(newScale);
     }
-    
+
     public Vector2 getPosition() {
-        return new Vector2(position);
+        return new Vector2(getX(), getY());
     }
-    
+
+    public Vector2 getPosition(Vector2 out) {
+        return out.set(getX(), getY());
+    }
+
     public void setPosition(Vector2 position) {
-        this.position = new Vector2(position);
+        setXY(position.x, position.y);
     }
-    
+
     public Vector2 getScale() {
         return new Vector2(scale);
     }
-    
+
     public float getRotation() {
         return rotation;
     }
@@ -0,0 +1,185 @@
+package com.gameengine.core;
+
+import com.gameengine.components.AIComponent;
+import com.gameengine.components.TransformComponent;
+
+import java.util.Arrays;
+import java.util.List;
+
+// AI 决策调度：按与焦点（玩家）的距离决定更新间隔，并把同一间隔的 agent 按相位错开到不同 tick
+// 每 tick 有微秒级预算，超出时剩余 agent 顺延到下一 tick，从中断处继续
+public class AIScheduler {
+    public interface Decision {
+        // elapsed 为距该 agent 上次决策的模拟时间
+        void decide(GameObject agent, AIComponent ai, float elapsed);
+    }
+
+    // 按遍历下标每隔若干个 agent（含未到期而跳过的）检查一次时钟，避免频繁调用 nanoTime
+    private static final int CLOCK_CHECK_INTERVAL = 8;
+
+    private float nearDistance = 250f;
+    private float farDistance = 600f;
+    // 中距离每 slices 个 tick 更新一次，远距离再减半
+    private int slices = 4;
+    private long budgetNanos = 1_000_000L;
+    // 确定性模式下关闭顺延：仍统计超时，但结果不受机器快慢影响
+    private boolean deferOnOverrun = true;
+
+    private float[] focusX = new float[4];
+    private float[] focusY = new float[4];
+    private int focusCount;
+
+    private long tick;
+    private double time;
+    private int cursor;
+    private int nextPhase;
+
+    private int lastUpdated;
+    private int lastDeferred;
+    private long lastNanos;
+    private long totalNanos;
+    private long totalUpdated;
+    private long ticks;
+    private long overruns;
+
+    public void clearFocus() {
+        focusCount = 0;
+    }
+
+    public void addFocus(float x, float y) {
+        if (focusCount == focusX.length) {
+            focusX = Arrays.copyOf(focusX, focusCount * 2);
+            focusY = Arrays.copyOf(focusY, focusCount * 2);
+        }
+        focusX[focusCount] = x;
+        focusY[focusCount] = y;
+        focusCount++;
+    }
+
+    public void update(List<GameObject> agents, float deltaTime, Decision decision) {
+        tick++;
+        ticks++;
+        time += deltaTime;
+        int n = agents.size();
+        int updated = 0;
+        int deferred = 0;
+        long start = System.nanoTime();
+        boolean overrun = false;
+
+        int first = n > 0 ? cursor % n : 0;
+        for (int k = 0; k < n; k++) {
+            if (budgetNanos > 0 && k > 0 && k % CLOCK_CHECK_INTERVAL == 0 && !overrun
+                && System.nanoTime() - start > budgetNanos) {
+                overrun = true;
+                if (deferOnOverrun) {
+                    cursor = (first + k) % n;
+                    deferred = n - k;
+                    break;
+                }
+            }
+            GameObject agent = agents.get((first + k) % n);
+            if (!agent.isActive()) continue;
+            AIComponent ai = agent.getComponent(AIComponent.class);
+            if (ai == null || !ai.isEnabled() || tick < ai.getNextUpdateTick()) continue;
+
+            float elapsed;
+            if (ai.getPhase() < 0) {
+                ai.setPhase(nextPhase++);
+                elapsed = deltaTime;
+            } else {
+                elapsed = (float) (time - ai.getLastUpdateTime());
+            }
+            ai.setLastUpdateTime(time);
+
+            int interval = intervalFor(agent);
+            ai.setLodInterval(interval);
+            // 对齐到 (t + phase) % interval == 0 的下一个 tick，同一间隔的 agent 均匀分散
+            ai.setNextUpdateTick(tick + interval - (tick + ai.getPhase()) % interval);
+
+            decision.decide(agent, ai, elapsed);
+            updated++;
+        }
+
+        lastNanos = System.nanoTime() - start;
+        if (budgetNanos > 0 && lastNanos > budgetNanos) overrun = true;
+        if (overrun) overruns++;
+        lastUpdated = updated;
+        lastDeferred = deferred;
+        totalNanos += lastNanos;
+        totalUpdated += updated;
+    }
+
+    private int intervalFor(GameObject agent) {
+        if (focusCount == 0) return slices;
+        TransformComponent transform = agent.getComponent(TransformComponent.class);
+        if (transform == null) return slices;
+        float x = transform.getX();
+        float y = transform.getY();
+        float best = Float.MAX_VALUE;
+        for (int i = 0; i < focusCount; i++) {
+            float dx = focusX[i] - x;
+            float dy = focusY[i] - y;
+            best = Math.min(best, dx * dx + dy * dy);
+        }
+        if (best < nearDistance * nearDistance) return 1;
+        if (best < farDistance * farDistance) return slices;
+        return slices * 2;
+    }
+
+    public void setLodDistances(float near, float far) {
+        this.nearDistance = near;
+        this.farDistance = Math.max(near, far);
+    }
+
+    public void setSlices(int slices) {
+        this.slices = Math.max(1, slices);
+    }
+
+    public int getSlices() {
+        return slices;
+    }
+
+    // 0 表示不限预算
+    public void setBudgetMicros(long micros) {
+        this.budgetNanos = Math.max(0, micros) * 1000L;
+    }
+
+    public long getBudgetMicros() {
+        return budgetNanos / 1000L;
+    }
+
+    public void setDeferOnOverrun(boolean defer) {
+        this.deferOnOverrun = defer;
+    }
+
+    public int getLastUpdated() {
+        return lastUpdated;
+    }
+
+    // 预算用尽时本 tick 尚未检查的 agent 数，下一 tick 从它们开始
+    public int getLastDeferred() {
+        return lastDeferred;
+    }
+
+    public long getLastMicros() {
+        return lastNanos / 1000L;
+    }
+
+    public double getAverageMicros() {
+        return ticks > 0 ? totalNanos / 1000.0 / ticks : 0;
+    }
+
+    public double getAverageUpdated() {
+        return ticks > 0 ? (double) totalUpdated / ticks : 0;
+    }
+
+    public long getOverrunCount() {
+        return overruns;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AIScheduler ticks=%d avgUpdated=%.1f avg=%.1fus budget=%dus overruns=%d",
+            ticks, getAverageUpdated(), getAverageMicros(), getBudgetMicros(), overruns);
+    }
+}
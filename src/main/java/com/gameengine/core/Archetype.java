@@ -0,0 +1,201 @@
+package com.gameengine.core;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+
+import java.util.Arrays;
+
+public class Archetype {
+    public static final int TRANSFORM = 1;
+    public static final int PHYSICS = 1 << 1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int mask;
+    private int size;
+    private GameObject[] owners;
+    private TransformComponent[] transforms;
+    private PhysicsComponent[] bodies;
+
+    // 紧凑列存储：同一行即同一实体
+    public float[] posX, posY;
+    // 上一个固定步长结束时的位置，用于渲染插值
+    public float[] prevX, prevY;
+    public float[] velX, velY;
+    public float[] accX, accY;
+    public float[] gravX, gravY;
+    public float[] friction, mass;
+    public boolean[] simulated;
+    // 连续低速的 tick 数，-1 表示休眠：积分时跳过，施加速度、冲量或碰撞时归零唤醒
+    public float[] idleTicks;
+
+    public Archetype(int mask) {
+        this.mask = mask;
+        this.size = 0;
+        this.owners = new GameObject[INITIAL_CAPACITY];
+        this.transforms = new TransformComponent[INITIAL_CAPACITY];
+        this.bodies = new PhysicsComponent[INITIAL_CAPACITY];
+        if (has(TRANSFORM)) {
+            posX = new float[INITIAL_CAPACITY];
+            posY = new float[INITIAL_CAPACITY];
+            prevX = new float[INITIAL_CAPACITY];
+            prevY = new float[INITIAL_CAPACITY];
+        }
+        if (has(PHYSICS)) {
+            velX = new float[INITIAL_CAPACITY];
+            velY = new float[INITIAL_CAPACITY];
+            accX = new float[INITIAL_CAPACITY];
+            accY = new float[INITIAL_CAPACITY];
+            gravX = new float[INITIAL_CAPACITY];
+            gravY = new float[INITIAL_CAPACITY];
+            friction = new float[INITIAL_CAPACITY];
+            mass = new float[INITIAL_CAPACITY];
+            simulated = new boolean[INITIAL_CAPACITY];
+            idleTicks = new float[INITIAL_CAPACITY];
+        }
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public boolean has(int components) {
+        return (mask & components) == components;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public GameObject getOwner(int row) {
+        return owners[row];
+    }
+
+    public TransformComponent getTransform(int row) {
+        return transforms[row];
+    }
+
+    public PhysicsComponent getPhysics(int row) {
+        return bodies[row];
+    }
+
+    public void storePreviousPositions() {
+        if (!has(TRANSFORM)) return;
+        System.arraycopy(posX, 0, prevX, 0, size);
+        System.arraycopy(posY, 0, prevY, 0, size);
+    }
+
+    // 按行序混合位置、速度与模拟标志的原始位模式，用于逐 tick 校验确定性
+    public long hashState(long hash) {
+        hash = mix(hash, mask);
+        hash = mix(hash, size);
+        for (int i = 0; i < size; i++) {
+            if (has(TRANSFORM)) {
+                hash = mix(hash, Float.floatToIntBits(posX[i]));
+                hash = mix(hash, Float.floatToIntBits(posY[i]));
+            }
+            if (has(PHYSICS)) {
+                hash = mix(hash, Float.floatToIntBits(velX[i]));
+                hash = mix(hash, Float.floatToIntBits(velY[i]));
+                hash = mix(hash, simulated[i] ? 1 : 0);
+                hash = mix(hash, Float.floatToIntBits(idleTicks[i]));
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ (value & 0xffffffffL)) * 0x100000001b3L;
+    }
+
+    int add(GameObject owner, TransformComponent transform, PhysicsComponent physics) {
+        int row = size;
+        ensureCapacity(row + 1);
+        size++;
+        owners[row] = owner;
+        transforms[row] = transform;
+        bodies[row] = physics;
+        owner.archetype = this;
+        owner.archetypeRow = row;
+        if (transform != null) transform.bindStorage(this, row);
+        if (physics != null) physics.bindStorage(this, row);
+        return row;
+    }
+
+    void remove(int row) {
+        int last = size - 1;
+        GameObject owner = owners[row];
+        if (transforms[row] != null) transforms[row].bindStorage(null, -1);
+        if (bodies[row] != null) bodies[row].bindStorage(null, -1);
+        owner.archetype = null;
+        owner.archetypeRow = -1;
+
+        // swap-remove：用末行填补空洞
+        if (row != last) {
+            moveRow(last, row);
+            owners[row].archetypeRow = row;
+            if (transforms[row] != null) transforms[row].bindStorage(this, row);
+            if (bodies[row] != null) bodies[row].bindStorage(this, row);
+        }
+        owners[last] = null;
+        transforms[last] = null;
+        bodies[last] = null;
+        size--;
+    }
+
+    void clear() {
+        for (int i = size - 1; i >= 0; i--) {
+            remove(i);
+        }
+    }
+
+    private void moveRow(int from, int to) {
+        owners[to] = owners[from];
+        transforms[to] = transforms[from];
+        bodies[to] = bodies[from];
+        if (has(TRANSFORM)) {
+            posX[to] = posX[from];
+            posY[to] = posY[from];
+            prevX[to] = prevX[from];
+            prevY[to] = prevY[from];
+        }
+        if (has(PHYSICS)) {
+            velX[to] = velX[from];
+            velY[to] = velY[from];
+            accX[to] = accX[from];
+            accY[to] = accY[from];
+            gravX[to] = gravX[from];
+            gravY[to] = gravY[from];
+            friction[to] = friction[from];
+            mass[to] = mass[from];
+            simulated[to] = simulated[from];
+            idleTicks[to] = idleTicks[from];
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= owners.length) return;
+        int capacity = Math.max(required, owners.length * 2);
+        owners = Arrays.copyOf(owners, capacity);
+        transforms = Arrays.copyOf(transforms, capacity);
+        bodies = Arrays.copyOf(bodies, capacity);
+        if (has(TRANSFORM)) {
+            posX = Arrays.copyOf(posX, capacity);
+            posY = Arrays.copyOf(posY, capacity);
+            prevX = Arrays.copyOf(prevX, capacity);
+            prevY = Arrays.copyOf(prevY, capacity);
+        }
+        if (has(PHYSICS)) {
+            velX = Arrays.copyOf(velX, capacity);
+            velY = Arrays.copyOf(velY, capacity);
+            accX = Arrays.copyOf(accX, capacity);
+            accY = Arrays.copyOf(accY, capacity);
+            gravX = Arrays.copyOf(gravX, capacity);
+            gravY = Arrays.copyOf(gravY, capacity);
+            friction = Arrays.copyOf(friction, capacity);
+            mass = Arrays.copyOf(mass, capacity);
+            simulated = Arrays.copyOf(simulated, capacity);
+            idleTicks = Arrays.copyOf(idleTicks, capacity);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.gameengine.core;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ArchetypeStorage {
+    private final Archetype[] byMask;
+    private final List<Archetype> archetypes;
+    private final List<Archetype> archetypesView;
+
+    public ArchetypeStorage() {
+        this.byMask = new Archetype[(Archetype.TRANSFORM | Archetype.PHYSICS) + 1];
+        this.archetypes = new ArrayList<>();
+        this.archetypesView = Collections.unmodifiableList(archetypes);
+    }
+
+    public void attach(GameObject obj) {
+        if (obj.archetype != null) return;
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
+        int mask = maskOf(transform, physics);
+        if (mask == 0) return;
+        getOrCreate(mask).add(obj, transform, physics);
+    }
+
+    public void detach(GameObject obj) {
+        if (obj.archetype != null) {
+            obj.archetype.remove(obj.archetypeRow);
+        }
+    }
+
+    // 组件变化后按需迁移到新的 archetype
+    public void refresh(GameObject obj) {
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
+        int mask = maskOf(transform, physics);
+        Archetype current = obj.archetype;
+        if (current != null && current.getMask() == mask) return;
+        detach(obj);
+        if (mask != 0) {
+            getOrCreate(mask).add(obj, transform, physics);
+        }
+    }
+
+    public void clear() {
+        for (Archetype archetype : archetypes) {
+            archetype.clear();
+        }
+    }
+
+    public Archetype getArchetype(int mask) {
+        return mask >= 0 && mask < byMask.length ? byMask[mask] : null;
+    }
+
+    public void storePreviousPositions() {
+        for (int i = 0; i < archetypes.size(); i++) {
+            archetypes.get(i).storePreviousPositions();
+        }
+    }
+
+    // archetype 按首次创建顺序、行按加入顺序遍历，相同操作序列得到相同哈希
+    public long computeStateHash() {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < archetypes.size(); i++) {
+            hash = archetypes.get(i).hashState(hash);
+        }
+        return hash;
+    }
+
+    public List<Archetype> getArchetypes() {
+        return archetypesView;
+    }
+
+    private Archetype getOrCreate(int mask) {
+        Archetype archetype = byMask[mask];
+        if (archetype == null) {
+            archetype = new Archetype(mask);
+            byMask[mask] = archetype;
+            archetypes.add(archetype);
+        }
+        return archetype;
+    }
+
+    private static int maskOf(TransformComponent transform, PhysicsComponent physics) {
+        int mask = 0;
+        if (transform != null) mask |= Archetype.TRANSFORM;
+        if (physics != null) mask |= Archetype.PHYSICS;
+        return mask;
+    }
+}
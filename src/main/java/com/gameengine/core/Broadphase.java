@@ -0,0 +1,194 @@
+package com.gameengine.core;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.TransformComponent;
+
+import java.util.Arrays;
+
+// 排序扫掠（sort-and-sweep）宽相位：按包围盒左边界排序后，只比较 x 区间重叠的相邻对
+// 扫掠按块并行，每块写入独立的事件缓冲，汇合后按块顺序读出，结果与串行一致
+public class Broadphase {
+    private static final int SWEEP_CHUNK = 512;
+
+    private final JobSystem jobs;
+    private int count;
+    private GameObject[] owners;
+    private byte[] shapes;
+    private float[] centerX, centerY;
+    private float[] radius, halfW, halfH;
+    private float[] minX, maxX, minY, maxY;
+    private int[] layers, masks;
+    private long[] sortKeys;
+    private int[] order;
+    private PairBuffer[] chunkPairs;
+    private int chunkCount;
+
+    public Broadphase() {
+        this.jobs = JobSystem.getInstance();
+        this.chunkPairs = new PairBuffer[0];
+        allocate(64);
+    }
+
+    public void begin() {
+        count = 0;
+    }
+
+    public void add(GameObject owner, TransformComponent transform, ColliderComponent collider) {
+        if (count >= owners.length) {
+            allocate(owners.length * 2);
+        }
+        int i = count++;
+        float cx = transform.getX() + collider.getOffsetX();
+        float cy = transform.getY() + collider.getOffsetY();
+        owners[i] = owner;
+        centerX[i] = cx;
+        centerY[i] = cy;
+        layers[i] = collider.getLayer();
+        masks[i] = collider.getMask();
+        if (collider.getShape() == ColliderComponent.Shape.CIRCLE) {
+            shapes[i] = 0;
+            radius[i] = collider.getRadius();
+            halfW[i] = radius[i];
+            halfH[i] = radius[i];
+        } else {
+            shapes[i] = 1;
+            halfW[i] = collider.getHalfWidth();
+            halfH[i] = collider.getHalfHeight();
+        }
+        minX[i] = cx - halfW[i];
+        maxX[i] = cx + halfW[i];
+        minY[i] = cy - halfH[i];
+        maxY[i] = cy + halfH[i];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void detect() {
+        for (int i = 0; i < count; i++) {
+            sortKeys[i] = ((long) sortableBits(minX[i]) << 32) | i;
+        }
+        Arrays.sort(sortKeys, 0, count);
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) sortKeys[i];
+        }
+
+        chunkCount = (count + SWEEP_CHUNK - 1) / SWEEP_CHUNK;
+        if (chunkPairs.length < chunkCount) {
+            int old = chunkPairs.length;
+            chunkPairs = Arrays.copyOf(chunkPairs, chunkCount);
+            for (int c = old; c < chunkCount; c++) {
+                chunkPairs[c] = new PairBuffer();
+            }
+        }
+        jobs.parallelFor(chunkCount, 1, (start, end) -> {
+            for (int c = start; c < end; c++) {
+                sweep(c * SWEEP_CHUNK, Math.min(count, (c + 1) * SWEEP_CHUNK), chunkPairs[c]);
+            }
+        });
+    }
+
+    public int getPairCount() {
+        int total = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            total += chunkPairs[c].size;
+        }
+        return total;
+    }
+
+    public void deliver(CollisionListener listener) {
+        for (int c = 0; c < chunkCount; c++) {
+            PairBuffer pairs = chunkPairs[c];
+            for (int p = 0; p < pairs.size; p++) {
+                listener.onCollision(owners[pairs.a[p]], owners[pairs.b[p]]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(owners, 0, count, null);
+        count = 0;
+        chunkCount = 0;
+    }
+
+    private void sweep(int from, int to, PairBuffer pairs) {
+        pairs.size = 0;
+        for (int s = from; s < to; s++) {
+            int i = order[s];
+            float right = maxX[i];
+            for (int t = s + 1; t < count; t++) {
+                int j = order[t];
+                if (minX[j] > right) break;
+                if (minY[j] > maxY[i] || maxY[j] < minY[i]) continue;
+                if ((layers[i] & masks[j]) == 0 || (layers[j] & masks[i]) == 0) continue;
+                if (overlaps(i, j)) {
+                    pairs.add(i, j);
+                }
+            }
+        }
+    }
+
+    private boolean overlaps(int i, int j) {
+        if (shapes[i] == 0 && shapes[j] == 0) {
+            float dx = centerX[i] - centerX[j];
+            float dy = centerY[i] - centerY[j];
+            float r = radius[i] + radius[j];
+            return dx * dx + dy * dy < r * r;
+        }
+        if (shapes[i] == 1 && shapes[j] == 1) {
+            return minX[i] < maxX[j] && minX[j] < maxX[i] && minY[i] < maxY[j] && minY[j] < maxY[i];
+        }
+        int circle = shapes[i] == 0 ? i : j;
+        int box = circle == i ? j : i;
+        float nx = Math.max(minX[box], Math.min(centerX[circle], maxX[box]));
+        float ny = Math.max(minY[box], Math.min(centerY[circle], maxY[box]));
+        float dx = centerX[circle] - nx;
+        float dy = centerY[circle] - ny;
+        return dx * dx + dy * dy < radius[circle] * radius[circle];
+    }
+
+    // 使浮点位模式按有符号整数比较时与数值顺序一致
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    private void allocate(int capacity) {
+        owners = owners == null ? new GameObject[capacity] : Arrays.copyOf(owners, capacity);
+        shapes = shapes == null ? new byte[capacity] : Arrays.copyOf(shapes, capacity);
+        centerX = grow(centerX, capacity);
+        centerY = grow(centerY, capacity);
+        radius = grow(radius, capacity);
+        halfW = grow(halfW, capacity);
+        halfH = grow(halfH, capacity);
+        minX = grow(minX, capacity);
+        maxX = grow(maxX, capacity);
+        minY = grow(minY, capacity);
+        maxY = grow(maxY, capacity);
+        layers = layers == null ? new int[capacity] : Arrays.copyOf(layers, capacity);
+        masks = masks == null ? new int[capacity] : Arrays.copyOf(masks, capacity);
+        sortKeys = new long[capacity];
+        order = new int[capacity];
+    }
+
+    private static float[] grow(float[] array, int capacity) {
+        return array == null ? new float[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static final class PairBuffer {
+        int[] a = new int[64];
+        int[] b = new int[64];
+        int size;
+
+        void add(int i, int j) {
+            if (size >= a.length) {
+                a = Arrays.copyOf(a, size * 2);
+                b = Arrays.copyOf(b, size * 2);
+            }
+            a[size] = i;
+            b[size] = j;
+            size++;
+        }
+    }
+}
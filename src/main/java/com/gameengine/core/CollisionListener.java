@@ -0,0 +1,6 @@
+package com.gameengine.core;
+
+// 碰撞事件回调：在物理步骤的并行检测完成后，于调度线程上按确定顺序逐对派发
+public interface CollisionListener {
+    void onCollision(GameObject a, GameObject b);
+}
@@ -21,6 +21,10 @@ public abstract class Component<T extends Component<T>> {
         this.enabled = false;
     }
     
+    public void reset() {
+        setEnabled(true);
+    }
+    
     @SuppressWarnings("unchecked")
     public Class<T> getComponentType() {
         return (Class<T>) this.getClass();
@@ -0,0 +1,47 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class ComponentRegistry {
+    private static final AtomicInteger nextId = new AtomicInteger(0);
+
+    // 每个组件类型分配一个紧凑的整数 id
+    private static final ClassValue<Integer> ids = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return nextId.getAndIncrement();
+        }
+    };
+
+    // 组件类及其父类（不含 Component 本身）的 id，用于按父类型查找
+    private static final ClassValue<int[]> hierarchyIds = new ClassValue<int[]>() {
+        @Override
+        protected int[] computeValue(Class<?> type) {
+            List<Integer> list = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Component.class; c = c.getSuperclass()) {
+                list.add(idOf(c));
+            }
+            int[] result = new int[list.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = list.get(i);
+            }
+            return result;
+        }
+    };
+
+    private ComponentRegistry() {}
+
+    public static int idOf(Class<?> componentType) {
+        return ids.get(componentType);
+    }
+
+    public static int[] hierarchyOf(Class<?> componentType) {
+        return hierarchyIds.get(componentType);
+    }
+
+    public static int getTypeCount() {
+        return nextId.get();
+    }
+}
@@ -0,0 +1,19 @@
+package com.gameengine.core;
+
+// 引擎系统：声明读写的组件类型，由 SystemScheduler 据此排序并并行调度
+// 命名为 EngineSystem 以避免与 java.lang.System 冲突
+public interface EngineSystem {
+    String getName();
+
+    // 读写集合也可包含非组件的共享资源类型（如 SpatialGrid），用于表达系统间的数据依赖
+    Class<?>[] getReads();
+
+    Class<?>[] getWrites();
+
+    void update(float deltaTime);
+
+    // 独占系统（如场景结构变更）在调度线程上单独执行，与其他系统均不重叠
+    default boolean isExclusive() {
+        return false;
+    }
+}
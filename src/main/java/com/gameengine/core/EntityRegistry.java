@@ -0,0 +1,126 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 分代句柄 + 稠密数组：创建与删除均为 O(1)，删除时用末尾元素填补空位
+public class EntityRegistry {
+    public static final int INVALID_HANDLE = 0;
+
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int MAX_GENERATION = (1 << (31 - INDEX_BITS)) - 1;
+
+    // 稀疏槽位：代数与对应的稠密下标
+    private int[] generations;
+    private int[] denseIndices;
+    private int[] freeSlots;
+    private int freeCount;
+    private int slotCount;
+
+    // 稠密存储
+    private GameObject[] dense;
+    private int[] denseSlots;
+    private int size;
+
+    public EntityRegistry() {
+        this.generations = new int[64];
+        this.denseIndices = new int[64];
+        this.freeSlots = new int[64];
+        this.dense = new GameObject[64];
+        this.denseSlots = new int[64];
+    }
+
+    public static int slotOf(int handle) {
+        return handle & INDEX_MASK;
+    }
+
+    public static int generationOf(int handle) {
+        return handle >>> INDEX_BITS;
+    }
+
+    public int create(GameObject obj) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            slot = slotCount++;
+            if (slot > INDEX_MASK) {
+                throw new IllegalStateException("实体数量超过上限: " + (INDEX_MASK + 1));
+            }
+            if (slot >= generations.length) {
+                int capacity = generations.length * 2;
+                generations = Arrays.copyOf(generations, capacity);
+                denseIndices = Arrays.copyOf(denseIndices, capacity);
+            }
+            generations[slot] = 1;
+        }
+        if (size >= dense.length) {
+            dense = Arrays.copyOf(dense, dense.length * 2);
+            denseSlots = Arrays.copyOf(denseSlots, denseSlots.length * 2);
+        }
+        dense[size] = obj;
+        denseSlots[size] = slot;
+        denseIndices[slot] = size;
+        size++;
+
+        int handle = (generations[slot] << INDEX_BITS) | slot;
+        obj.handle = handle;
+        return handle;
+    }
+
+    public boolean destroy(int handle) {
+        if (!isAlive(handle)) return false;
+        int slot = slotOf(handle);
+        int index = denseIndices[slot];
+        int last = size - 1;
+        dense[index].handle = INVALID_HANDLE;
+        if (index != last) {
+            dense[index] = dense[last];
+            denseSlots[index] = denseSlots[last];
+            denseIndices[denseSlots[index]] = index;
+        }
+        dense[last] = null;
+        size--;
+
+        // 代数递增使旧句柄失效
+        int generation = generations[slot] + 1;
+        generations[slot] = generation > MAX_GENERATION ? 1 : generation;
+        denseIndices[slot] = -1;
+        if (freeCount >= freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    public boolean isAlive(int handle) {
+        if (handle == INVALID_HANDLE) return false;
+        int slot = slotOf(handle);
+        return slot < slotCount && generations[slot] == generationOf(handle) && denseIndices[slot] >= 0;
+    }
+
+    public GameObject get(int handle) {
+        return isAlive(handle) ? dense[denseIndices[slotOf(handle)]] : null;
+    }
+
+    public GameObject getAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return dense[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getSlotCapacity() {
+        return slotCount;
+    }
+
+    public void clear() {
+        for (int i = size - 1; i >= 0; i--) {
+            destroy(dense[i].handle);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.gameengine.core;
 
+import com.gameengine.components.RenderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.graphics.FrameSnapshot;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.graphics.RenderBackend;
 import com.gameengine.graphics.RendererFactory;
+import com.gameengine.graphics.SnapshotRenderer;
 import com.gameengine.input.InputManager;
 import com.gameengine.scene.Scene;
 
@@ -12,10 +16,30 @@ public class GameEngine {
     private InputManager inputManager;
     private Scene currentScene;
     private PhysicsSystem physicsSystem;
-    private boolean running;
+    // 每 tick 的系统由调度器按读写声明排序执行，场景或录制变化后重建
+    private final SystemScheduler systems;
+    private volatile boolean systemsDirty;
+    private volatile boolean running;
     private float targetFPS;
     private float deltaTime;
     private long lastTime;
+    // 固定步长模式：模拟按 tickRate 推进，与显示帧率无关
+    private static final float MAX_FRAME_TIME = 0.25f;
+    private boolean fixedTimestep;
+    private float tickRate;
+    private int maxStepsPerFrame;
+    private float accumulator;
+    private float interpolationAlpha;
+    private long tickCount;
+    private long droppedTicks;
+    // 确定性模式：固定步长 + 按名称派生的种子随机流 + 每 tick 状态哈希
+    private boolean deterministic;
+    private RandomStreams randomStreams;
+    private long lastStateHash;
+    private StateHashListener stateHashListener;
+    // 流水线模式：模拟线程记录快照，主线程（持有 GL 上下文）回放上一帧
+    private SnapshotRenderer snapshotRenderer;
+    private Thread simulationThread;
     @SuppressWarnings("unused")
     private String title;
     // 新录制服务（可选）
@@ -33,7 +57,14 @@ public class GameEngine {
         this.targetFPS = 60.0f;
         this.deltaTime = 0.0f;
         this.lastTime = System.nanoTime();
-        
+        this.fixedTimestep = false;
+        this.tickRate = 60.0f;
+        this.maxStepsPerFrame = 5;
+        this.accumulator = 0f;
+        this.interpolationAlpha = 1f;
+        this.randomStreams = new RandomStreams(System.nanoTime());
+        this.systems = new SystemScheduler();
+        this.systemsDirty = true;
     }
     
     public boolean initialize() {
@@ -55,14 +86,69 @@ public class GameEngine {
             
         }
         
+        if (snapshotRenderer != null) {
+            runPipelined();
+        } else {
+            frameLoop();
+        }
+    }
+    
+    private void runPipelined() {
+        IRenderer display = snapshotRenderer.getDisplay();
+        simulationThread = new Thread(() -> {
+            try {
+                frameLoop();
+            } catch (Throwable t) {
+                t.printStackTrace();
+                running = false;
+            }
+        }, "simulation");
+        simulationThread.start();
+        
+        while (running) {
+            display.pollEvents();
+            if (display.shouldClose()) {
+                running = false;
+                break;
+            }
+            FrameSnapshot snapshot = snapshotRenderer.acquireLatest();
+            if (snapshot != null) {
+                display.beginFrame();
+                snapshot.replay(display);
+                display.endFrame();
+            } else {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    running = false;
+                }
+            }
+        }
+        
+        snapshotRenderer.requestClose();
+        try {
+            simulationThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        simulationThread = null;
+        display.cleanup();
+    }
+    
+    private void frameLoop() {
         long lastFrameTime = System.nanoTime();
         long frameTimeNanos = (long)(1_000_000_000.0 / targetFPS);
+        lastTime = lastFrameTime;
         
         while (running) {
             long currentTime = System.nanoTime();
             
             if (currentTime - lastFrameTime >= frameTimeNanos) {
-                update();
+                if (fixedTimestep || deterministic) {
+                    updateFixed();
+                } else {
+                    update();
+                }
                 if (running) {
                     render();
                 }
@@ -90,18 +176,64 @@ public class GameEngine {
         
         renderer.pollEvents();
         
+        interpolationAlpha = 1f;
+        if (currentScene != null) {
+            currentScene.setInterpolationAlpha(1f);
+        }
+        simulate(deltaTime);
+    }
+    
+    // 累加器驱动：每帧执行 0..maxStepsPerFrame 个固定步，超出部分丢弃以避免死亡螺旋
+    private void updateFixed() {
+        long currentTime = System.nanoTime();
+        float frameTime = (currentTime - lastTime) / 1_000_000_000.0f;
+        lastTime = currentTime;
+        if (frameTime > MAX_FRAME_TIME) frameTime = MAX_FRAME_TIME;
         
+        renderer.pollEvents();
         
-        if (currentScene != null) {
-            currentScene.update(deltaTime);
+        float step = 1.0f / tickRate;
+        accumulator += frameTime;
+        int steps = 0;
+        while (running && accumulator >= step) {
+            if (steps >= maxStepsPerFrame) {
+                long skipped = (long) (accumulator / step);
+                droppedTicks += skipped;
+                accumulator -= skipped * step;
+                break;
+            }
+            deltaTime = step;
+            simulate(step);
+            accumulator -= step;
+            tickCount++;
+            steps++;
         }
         
-        if (physicsSystem != null) {
-            physicsSystem.update(deltaTime);
+        interpolationAlpha = Math.min(1f, accumulator / step);
+        if (currentScene != null) {
+            currentScene.setInterpolationAlpha(interpolationAlpha);
+        }
+    }
+    
+    private void simulate(float deltaTime) {
+        if (systemsDirty) {
+            systemsDirty = false;
+            rebuildSystems();
+        }
+        if (currentScene != null && fixedTimestep) {
+            currentScene.getArchetypeStorage().storePreviousPositions();
         }
         
-        if (recordingService != null && recordingService.isRecording()) {
-            recordingService.update(deltaTime, currentScene, inputManager);
+        systems.update(deltaTime);
+        
+        // 汇合本帧调度的全部任务，下一帧开始前数据已稳定
+        JobSystem.getInstance().completeFrame();
+        
+        if (deterministic && currentScene != null) {
+            lastStateHash = currentScene.getArchetypeStorage().computeStateHash();
+            if (stateHashListener != null) {
+                stateHashListener.onStateHash(tickCount, lastStateHash);
+            }
         }
         
         inputManager.update();
@@ -117,6 +249,27 @@ public class GameEngine {
         }
     }
     
+    // 顺序：场景更新（独占）→ 场景注册的系统 → 物理 → 录制
+    private void rebuildSystems() {
+        systems.clear();
+        Scene scene = currentScene;
+        if (scene == null) return;
+        systems.addSystem(SimpleSystem.exclusive("SceneUpdate", scene::update));
+        scene.registerSystems(systems);
+        if (physicsSystem != null) {
+            systems.addSystem(physicsSystem);
+        }
+        if (recordingService != null) {
+            systems.addSystem(new SimpleSystem("Recording",
+                new Class<?>[] { TransformComponent.class, RenderComponent.class }, null, dt -> {
+                    com.gameengine.recording.RecordingService service = recordingService;
+                    if (service != null && service.isRecording()) {
+                        service.update(dt, scene, inputManager);
+                    }
+                }));
+        }
+    }
+    
     private void render() {
         if (renderer == null) return;
         
@@ -137,6 +290,9 @@ public class GameEngine {
             }
             currentScene.clear();
         }
+        // 立即清空：若在场景更新中切换，调度器会放弃旧场景本帧剩余的系统
+        systems.clear();
+        systemsDirty = true;
         this.currentScene = scene;
         if (scene != null) {
             if (running) {
@@ -172,6 +328,7 @@ public class GameEngine {
     // 可选：外部启用录制（按需调用）
     public void enableRecording(com.gameengine.recording.RecordingService service) {
         this.recordingService = service;
+        this.systemsDirty = true;
         try {
             if (service != null && currentScene != null) {
                 service.start(currentScene, renderer.getWidth(), renderer.getHeight());
@@ -184,10 +341,20 @@ public class GameEngine {
             try { recordingService.stop(); } catch (Exception ignored) {}
         }
         recordingService = null;
+        systemsDirty = true;
     }
     
     
     
+    // 主菜单与回放场景没有物理系统，返回 null
+    public PhysicsSystem getPhysicsSystem() {
+        return physicsSystem;
+    }
+    
+    public SystemScheduler getSystemScheduler() {
+        return systems;
+    }
+    
     public IRenderer getRenderer() {
         return renderer;
     }
@@ -208,6 +375,91 @@ public class GameEngine {
         return targetFPS;
     }
     
+    // 需在 run 之前启用：场景初始化时会捕获 getRenderer() 返回的渲染器
+    public void setPipelined(boolean pipelined) {
+        if (running) {
+            throw new IllegalStateException("流水线模式需在引擎启动前设置");
+        }
+        if (pipelined && snapshotRenderer == null) {
+            snapshotRenderer = new SnapshotRenderer(renderer);
+            renderer = snapshotRenderer;
+        } else if (!pipelined && snapshotRenderer != null) {
+            renderer = snapshotRenderer.getDisplay();
+            snapshotRenderer = null;
+        }
+    }
+    
+    public boolean isPipelined() {
+        return snapshotRenderer != null;
+    }
+    
+    // 需在 run 与 setScene 之前启用：场景初始化时从 getRandomStreams() 取各自的随机流
+    public void setDeterministic(boolean deterministic, long seed) {
+        if (running) {
+            throw new IllegalStateException("确定性模式需在引擎启动前设置");
+        }
+        this.deterministic = deterministic;
+        this.randomStreams = new RandomStreams(seed);
+        if (deterministic) {
+            setFixedTimestep(true);
+        }
+    }
+    
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+    
+    public RandomStreams getRandomStreams() {
+        return randomStreams;
+    }
+    
+    // 最近一个 tick 结束时的状态哈希，仅确定性模式下更新
+    public long getLastStateHash() {
+        return lastStateHash;
+    }
+    
+    public void setStateHashListener(StateHashListener listener) {
+        this.stateHashListener = listener;
+    }
+    
+    public void setFixedTimestep(boolean fixedTimestep) {
+        this.fixedTimestep = fixedTimestep;
+        this.accumulator = 0f;
+    }
+    
+    public boolean isFixedTimestep() {
+        return fixedTimestep;
+    }
+    
+    // 可在运行时调整，负载高时降低 tick 频率而不改变玩法速度
+    public void setTickRate(float tickRate) {
+        this.tickRate = Math.max(1f, tickRate);
+    }
+    
+    public float getTickRate() {
+        return tickRate;
+    }
+    
+    public void setMaxStepsPerFrame(int maxSteps) {
+        this.maxStepsPerFrame = Math.max(1, maxSteps);
+    }
+    
+    public int getMaxStepsPerFrame() {
+        return maxStepsPerFrame;
+    }
+    
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+    
+    public long getTickCount() {
+        return tickCount;
+    }
+    
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+    
     public boolean isRunning() {
         return running;
     }
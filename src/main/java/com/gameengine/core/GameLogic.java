@@ -1,59 +1,96 @@
 package com.gameengine.core;
 
+import com.gameengine.components.AIComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.input.InputManager;
-import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 public class GameLogic {
+    public static final String PLAYER_TAG = "Player";
+    public static final String AI_PLAYER_TAG = "AIPlayer";
+    // 碰撞层：AI 之间互不检测，只与玩家产生碰撞
+    public static final int PLAYER_LAYER = 1;
+    public static final int AI_LAYER = 1 << 1;
+    // 两个半径 15 的圆在中心距离小于 30 时相交
+    public static final float COLLIDER_RADIUS = 15f;
+    
     private Scene scene;
     private InputManager inputManager;
     private Random random;
-    private boolean gameOver;
+    private volatile boolean gameOver;
     private GameEngine gameEngine;
-    private Map<GameObject, Vector2> aiTargetVelocities;
-    private Map<GameObject, Float> aiTargetUpdateTimers;
-    private ExecutorService avoidanceExecutor;
+    private final AIScheduler aiScheduler;
+    private final AIScheduler.Decision aiDecision = this::decideAIMovement;
+    private JobSystem jobs;
+    private static final float AVOIDANCE_RADIUS = 80f;
+    // 每个避让块包含的网格行数；块划分只取决于实体数，与线程数无关，保证结果确定
+    private static final int AVOIDANCE_CHUNK = 256;
+    private static final int AVOIDANCE_GRAIN = 512;
+    // AI 位置的空间索引，每 tick 在 AI 逻辑前重建；编号为紧凑下标，对应 gridBodies
+    private final SpatialGrid aiGrid;
+    private float[] gridX;
+    private float[] gridY;
+    private int[] gridIds;
+    private PhysicsComponent[] gridBodies;
+    // 避让双缓冲：frozen 为本轮开始时的速度快照，next 为写缓冲，全部计算完成后统一提交
+    private float[] frozenVX, frozenVY;
+    private float[] nextVX, nextVY;
+    private float[] avoidX, avoidY;
+    private PairForces[] chunkForces;
     
     public GameLogic(Scene scene) {
+        this(scene, new Random());
+    }
+    
+    public GameLogic(Scene scene, Random random) {
         this.scene = scene;
         this.inputManager = InputManager.getInstance();
-        this.random = new Random();
+        this.random = random;
         this.gameOver = false;
-        this.aiTargetVelocities = new HashMap<>();
-        this.aiTargetUpdateTimers = new HashMap<>();
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.avoidanceExecutor = Executors.newFixedThreadPool(threadCount);
+        this.aiScheduler = new AIScheduler();
+        this.jobs = JobSystem.getInstance();
+        this.aiGrid = new SpatialGrid(AVOIDANCE_RADIUS);
+        this.gridX = new float[64];
+        this.gridY = new float[64];
+        this.gridIds = new int[64];
+        this.gridBodies = new PhysicsComponent[64];
+        this.chunkForces = new PairForces[0];
+        allocateAvoidanceBuffers(64);
+        scene.addCollisionListener(this::onCollision);
     }
     
     public void cleanup() {
-        if (avoidanceExecutor != null && !avoidanceExecutor.isShutdown()) {
-            avoidanceExecutor.shutdown();
-            try {
-                if (!avoidanceExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    avoidanceExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                avoidanceExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+        aiScheduler.clearFocus();
+    }
+    
+    // 注册为调度器系统：顺序即冲突时的执行先后；碰撞由 PhysicsSystem 检测后回调 onCollision
+    public void registerSystems(SystemScheduler scheduler) {
+        Class<?>[] transform = { TransformComponent.class };
+        Class<?>[] physics = { PhysicsComponent.class };
+        Class<?>[] both = { TransformComponent.class, PhysicsComponent.class };
+        Class<?>[] grid = { SpatialGrid.class };
+        scheduler.addSystem(new SimpleSystem("SpatialIndex", transform, grid, dt -> rebuildSpatialIndex()));
+        scheduler.addSystem(new SimpleSystem("PlayerInput", physics, both, this::handlePlayerInput));
+        scheduler.addSystem(new SimpleSystem("AIMovement",
+            new Class<?>[] { TransformComponent.class, PhysicsComponent.class, AIComponent.class },
+            new Class<?>[] { PhysicsComponent.class, AIComponent.class }, this::handleAIPlayerMovement));
+        scheduler.addSystem(new SimpleSystem("AIAvoidance",
+            new Class<?>[] { TransformComponent.class, PhysicsComponent.class, SpatialGrid.class }, physics,
+            this::handleAIPlayerAvoidance));
     }
     
     public void setGameEngine(GameEngine engine) {
         this.gameEngine = engine;
+        aiScheduler.setDeferOnOverrun(engine == null || !engine.isDeterministic());
+    }
+    
+    public AIScheduler getAIScheduler() {
+        return aiScheduler;
     }
     
     public boolean isGameOver() {
@@ -61,19 +98,53 @@ public class GameLogic {
     }
     
     public GameObject getUserPlayer() {
-        for (GameObject obj : scene.getGameObjects()) {
-            if (obj.getName().equals("Player") && obj.hasComponent(PhysicsComponent.class)) {
+        List<GameObject> players = scene.getGameObjectsByTag(PLAYER_TAG);
+        for (int i = 0, n = players.size(); i < n; i++) {
+            GameObject obj = players.get(i);
+            if (obj.hasComponent(PhysicsComponent.class)) {
                 return obj;
             }
         }
         return null;
     }
     
+    // 场景维护的实时只读列表，可能包含本帧刚被停用、尚未清理的对象
     public List<GameObject> getAIPlayers() {
-        return scene.getGameObjects().stream()
-            .filter(obj -> obj.getName().equals("AIPlayer"))
-            .filter(obj -> obj.isActive())
-            .collect(Collectors.toList());
+        return scene.getGameObjectsByTag(AI_PLAYER_TAG);
+    }
+    
+    // 由活跃 AI 的当前位置重建网格；避让与碰撞检测只查询该网格
+    public void rebuildSpatialIndex() {
+        List<GameObject> aiPlayers = getAIPlayers();
+        int n = aiPlayers.size();
+        if (gridIds.length < n) {
+            int capacity = Math.max(n, gridIds.length * 2);
+            gridX = new float[capacity];
+            gridY = new float[capacity];
+            gridIds = new int[capacity];
+            gridBodies = new PhysicsComponent[capacity];
+            allocateAvoidanceBuffers(capacity);
+        }
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            GameObject aiPlayer = aiPlayers.get(i);
+            if (!aiPlayer.isActive()) continue;
+            TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
+            if (transform == null) continue;
+            gridX[count] = transform.getX();
+            gridY[count] = transform.getY();
+            gridIds[count] = count;
+            gridBodies[count] = aiPlayer.getComponent(PhysicsComponent.class);
+            count++;
+        }
+        for (int i = count; i < n; i++) {
+            gridBodies[i] = null;
+        }
+        aiGrid.build(count, gridX, gridY, gridIds);
+    }
+    
+    public SpatialGrid getAIGrid() {
+        return aiGrid;
     }
     
     public void handlePlayerInput(float deltaTime) {
@@ -87,208 +158,222 @@ public class GameLogic {
         
         if (transform == null || physics == null) return;
         
-        Vector2 movement = new Vector2();
+        float moveX = 0;
+        float moveY = 0;
         
         // W / UpArrow (AWT=38, GLFW=265)
         if (inputManager.isKeyPressed(87) || inputManager.isKeyPressed(38) || inputManager.isKeyPressed(265)) {
-            movement.y -= 1;
+            moveY -= 1;
         }
         // S / DownArrow (AWT=40, GLFW=264)
         if (inputManager.isKeyPressed(83) || inputManager.isKeyPressed(40) || inputManager.isKeyPressed(264)) {
-            movement.y += 1;
+            moveY += 1;
         }
         // A / LeftArrow (AWT=37, GLFW=263)
         if (inputManager.isKeyPressed(65) || inputManager.isKeyPressed(37) || inputManager.isKeyPressed(263)) {
-            movement.x -= 1;
+            moveX -= 1;
         }
         // D / RightArrow (AWT=39, GLFW=262)
         if (inputManager.isKeyPressed(68) || inputManager.isKeyPressed(39) || inputManager.isKeyPressed(262)) {
-            movement.x += 1;
+            moveX += 1;
         }
         
-        if (movement.magnitude() > 0) {
-            movement = movement.normalize().multiply(200);
-            physics.setVelocity(movement);
+        float moveMag = (float) Math.sqrt(moveX * moveX + moveY * moveY);
+        if (moveMag > 0) {
+            physics.setVelocity(moveX / moveMag * 200, moveY / moveMag * 200);
         }
         
-        Vector2 pos = transform.getPosition();
+        float x = transform.getX();
+        float y = transform.getY();
         int screenW = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getWidth() : 1920;
         int screenH = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getHeight() : 1080;
-        if (pos.x < 0) pos.x = 0;
-        if (pos.y < 0) pos.y = 0;
-        if (pos.x > screenW - 20) pos.x = screenW - 20;
-        if (pos.y > screenH - 20) pos.y = screenH - 20;
-        transform.setPosition(pos);
+        if (x < 0) x = 0;
+        if (y < 0) y = 0;
+        if (x > screenW - 20) x = screenW - 20;
+        if (y > screenH - 20) y = screenH - 20;
+        transform.setXY(x, y);
     }
     
+    // 决策由 AIScheduler 分片与按距离降频，每 tick 只处理到期的 agent
     public void handleAIPlayerMovement(float deltaTime) {
         if (gameOver) return;
         
-        List<GameObject> aiPlayers = getAIPlayers();
-        
-        for (GameObject aiPlayer : aiPlayers) {
-            PhysicsComponent physics = aiPlayer.getComponent(PhysicsComponent.class);
-            if (physics == null) continue;
-            
-            if (!aiTargetVelocities.containsKey(aiPlayer)) {
-                Vector2 initialTarget = new Vector2(
-                    (random.nextFloat() - 0.5f) * 150,
-                    (random.nextFloat() - 0.5f) * 150
-                );
-                aiTargetVelocities.put(aiPlayer, initialTarget);
-                aiTargetUpdateTimers.put(aiPlayer, 0f);
-            }
-            
-            float timer = aiTargetUpdateTimers.get(aiPlayer) + deltaTime;
-            aiTargetUpdateTimers.put(aiPlayer, timer);
-            
-            if (timer >= (2.0f + random.nextFloat() * 2.0f)) {
-                Vector2 newTarget = new Vector2(
-                    (random.nextFloat() - 0.5f) * 150,
-                    (random.nextFloat() - 0.5f) * 150
-                );
-                aiTargetVelocities.put(aiPlayer, newTarget);
-                aiTargetUpdateTimers.put(aiPlayer, 0f);
-            }
-            
-            Vector2 currentVelocity = physics.getVelocity();
-            Vector2 targetVelocity = aiTargetVelocities.get(aiPlayer);
-            
-            float lerpFactor = 0.1f;
-            Vector2 newVelocity = new Vector2(
-                currentVelocity.x + (targetVelocity.x - currentVelocity.x) * lerpFactor,
-                currentVelocity.y + (targetVelocity.y - currentVelocity.y) * lerpFactor
-            );
-            
-            float maxSpeed = 150f;
-            if (newVelocity.magnitude() > maxSpeed) {
-                newVelocity = newVelocity.normalize().multiply(maxSpeed);
+        aiScheduler.clearFocus();
+        List<GameObject> players = scene.getGameObjectsByTag(PLAYER_TAG);
+        for (int i = 0, n = players.size(); i < n; i++) {
+            TransformComponent transform = players.get(i).getComponent(TransformComponent.class);
+            if (transform != null) {
+                aiScheduler.addFocus(transform.getX(), transform.getY());
             }
-            
-            physics.setVelocity(newVelocity);
         }
+        aiScheduler.update(getAIPlayers(), deltaTime, aiDecision);
     }
     
-    
-    public void handleAIPlayerAvoidance(float deltaTime) {
-        if (gameOver) return;
+    private void decideAIMovement(GameObject aiPlayer, AIComponent ai, float elapsed) {
+        PhysicsComponent physics = aiPlayer.getComponent(PhysicsComponent.class);
+        if (physics == null) return;
         
-        List<GameObject> aiPlayers = getAIPlayers();
-        if (aiPlayers.isEmpty()) return;
+        if (ai.advanceRetarget(elapsed)) {
+            ai.setTarget(
+                (random.nextFloat() - 0.5f) * 150,
+                (random.nextFloat() - 0.5f) * 150,
+                2.0f + random.nextFloat() * 2.0f
+            );
+        }
         
-        if (aiPlayers.size() < 10) {
-            handleAIPlayerAvoidanceSerial(aiPlayers, deltaTime);
-        } else {
-            handleAIPlayerAvoidanceParallel(aiPlayers, deltaTime);
+        float currentX = physics.getVelocityX();
+        float currentY = physics.getVelocityY();
+        
+        // 原为每 60Hz tick 插值 0.1，按实际间隔换算，降频的 agent 收敛速度不变
+        float lerpFactor = 1f - (float) Math.pow(0.9, elapsed * 60f);
+        float newX = currentX + (ai.getTargetVX() - currentX) * lerpFactor;
+        float newY = currentY + (ai.getTargetVY() - currentY) * lerpFactor;
+        
+        float maxSpeed = 150f;
+        float speed = (float) Math.sqrt(newX * newX + newY * newY);
+        if (speed > maxSpeed) {
+            newX = newX / speed * maxSpeed;
+            newY = newY / speed * maxSpeed;
         }
+        
+        physics.setVelocity(newX, newY);
     }
     
-    private void handleAIPlayerAvoidanceSerial(List<GameObject> aiPlayers, float deltaTime) {
-        for (int i = 0; i < aiPlayers.size(); i++) {
-            processAvoidanceForPlayer(aiPlayers, i, deltaTime);
-        }
-    }
     
-    private void handleAIPlayerAvoidanceParallel(List<GameObject> aiPlayers, float deltaTime) {
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, aiPlayers.size() / threadCount + 1);
+    // 对称避让：每对只计算一次并作用于双方；读冻结快照、写独立缓冲，结果与线程数无关
+    public void handleAIPlayerAvoidance(float deltaTime) {
+        if (gameOver) return;
         
-        List<Future<?>> futures = new ArrayList<>();
+        int n = aiGrid.size();
+        if (n == 0) return;
         
-        for (int i = 0; i < aiPlayers.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, aiPlayers.size());
-            
-            Future<?> future = avoidanceExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    processAvoidanceForPlayer(aiPlayers, j, deltaTime);
-                }
-            });
-            
-            futures.add(future);
+        for (int i = 0; i < n; i++) {
+            PhysicsComponent body = gridBodies[i];
+            frozenVX[i] = body != null ? body.getVelocityX() : 0;
+            frozenVY[i] = body != null ? body.getVelocityY() : 0;
         }
         
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
+        // 按网格行（即相邻格子）分块并行计算成对推力，每块写入自己的缓冲
+        int chunkCount = (n + AVOIDANCE_CHUNK - 1) / AVOIDANCE_CHUNK;
+        if (chunkForces.length < chunkCount) {
+            int old = chunkForces.length;
+            chunkForces = Arrays.copyOf(chunkForces, chunkCount);
+            for (int c = old; c < chunkCount; c++) {
+                chunkForces[c] = new PairForces();
             }
         }
-    }
-    
-    private void processAvoidanceForPlayer(List<GameObject> aiPlayers, int index, float deltaTime) {
-        GameObject aiPlayer1 = aiPlayers.get(index);
-        TransformComponent transform1 = aiPlayer1.getComponent(TransformComponent.class);
-        PhysicsComponent physics1 = aiPlayer1.getComponent(PhysicsComponent.class);
+        jobs.parallelFor(chunkCount, 1, (start, end) -> {
+            for (int c = start; c < end; c++) {
+                PairForces forces = chunkForces[c];
+                forces.size = 0;
+                aiGrid.forEachPair(AVOIDANCE_RADIUS, c * AVOIDANCE_CHUNK, (c + 1) * AVOIDANCE_CHUNK, forces.scratch, forces);
+            }
+        });
         
-        if (transform1 == null || physics1 == null) return;
+        // 按块顺序串行归约，保证浮点累加顺序固定
+        Arrays.fill(avoidX, 0, n, 0f);
+        Arrays.fill(avoidY, 0, n, 0f);
+        for (int c = 0; c < chunkCount; c++) {
+            PairForces forces = chunkForces[c];
+            for (int p = 0; p < forces.size; p++) {
+                int a = forces.a[p];
+                int b = forces.b[p];
+                avoidX[a] += forces.fx[p];
+                avoidY[a] += forces.fy[p];
+                avoidX[b] -= forces.fx[p];
+                avoidY[b] -= forces.fy[p];
+            }
+        }
         
-        Vector2 pos1 = transform1.getPosition();
-        Vector2 avoidance = new Vector2();
+        jobs.parallelFor(n, AVOIDANCE_GRAIN, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                steerAway(i, deltaTime);
+            }
+        });
         
-        for (int j = index + 1; j < aiPlayers.size(); j++) {
-            GameObject aiPlayer2 = aiPlayers.get(j);
-            TransformComponent transform2 = aiPlayer2.getComponent(TransformComponent.class);
-            
-            if (transform2 == null) continue;
-            
-            Vector2 pos2 = transform2.getPosition();
-            float distance = pos1.distance(pos2);
-            
-            if (distance < 80 && distance > 0) {
-                Vector2 direction = pos1.subtract(pos2).normalize();
-                float strength = (80 - distance) / 80.0f;
-                avoidance = avoidance.add(direction.multiply(strength * 50));
+        for (int i = 0; i < n; i++) {
+            PhysicsComponent body = gridBodies[i];
+            if (body != null && (nextVX[i] != frozenVX[i] || nextVY[i] != frozenVY[i])) {
+                body.setVelocity(nextVX[i], nextVY[i]);
             }
         }
+    }
+    
+    private void steerAway(int i, float deltaTime) {
+        float currentX = frozenVX[i];
+        float currentY = frozenVY[i];
+        nextVX[i] = currentX;
+        nextVY[i] = currentY;
         
-        if (avoidance.magnitude() > 0) {
-            Vector2 currentVelocity = physics1.getVelocity();
+        float ax = avoidX[i];
+        float ay = avoidY[i];
+        float avoidMag = (float) Math.sqrt(ax * ax + ay * ay);
+        if (avoidMag > 0) {
             float lerpFactor = 0.15f;
-            Vector2 avoidanceDirection = avoidance.normalize();
-            float avoidanceStrength = Math.min(avoidance.magnitude(), 50f);
+            float avoidanceStrength = Math.min(avoidMag, 50f);
+            float push = avoidanceStrength * deltaTime * 10;
             
-            Vector2 targetVelocity = currentVelocity.add(
-                avoidanceDirection.multiply(avoidanceStrength * deltaTime * 10)
-            );
-            
-            Vector2 newVelocity = new Vector2(
-                currentVelocity.x + (targetVelocity.x - currentVelocity.x) * lerpFactor,
-                currentVelocity.y + (targetVelocity.y - currentVelocity.y) * lerpFactor
-            );
+            float targetX = currentX + ax / avoidMag * push;
+            float targetY = currentY + ay / avoidMag * push;
+            float newX = currentX + (targetX - currentX) * lerpFactor;
+            float newY = currentY + (targetY - currentY) * lerpFactor;
             
             float maxSpeed = 150f;
-            if (newVelocity.magnitude() > maxSpeed) {
-                newVelocity = newVelocity.normalize().multiply(maxSpeed);
+            float speed = (float) Math.sqrt(newX * newX + newY * newY);
+            if (speed > maxSpeed) {
+                newX = newX / speed * maxSpeed;
+                newY = newY / speed * maxSpeed;
             }
             
-            physics1.setVelocity(newVelocity);
+            nextVX[i] = newX;
+            nextVY[i] = newY;
         }
     }
     
-    public void checkCollisions() {
-        if (gameOver) return;
-        
-        GameObject userPlayer = getUserPlayer();
-        if (userPlayer == null) return;
-        
-        TransformComponent playerTransform = userPlayer.getComponent(TransformComponent.class);
-        if (playerTransform == null) return;
-        
-        Vector2 playerPos = playerTransform.getPosition();
-        
-        List<GameObject> aiPlayers = getAIPlayers();
-        for (GameObject aiPlayer : aiPlayers) {
-            TransformComponent aiTransform = aiPlayer.getComponent(TransformComponent.class);
-            if (aiTransform != null) {
-                float distance = playerPos.distance(aiTransform.getPosition());
-                if (distance < 30) {
-                    gameOver = true;
-                    return;
-                }
+    private void allocateAvoidanceBuffers(int capacity) {
+        frozenVX = new float[capacity];
+        frozenVY = new float[capacity];
+        nextVX = new float[capacity];
+        nextVY = new float[capacity];
+        avoidX = new float[capacity];
+        avoidY = new float[capacity];
+    }
+    
+    // 一个块内的成对推力：作用于 a 为 (fx, fy)，作用于 b 为其相反数
+    private static final class PairForces implements SpatialGrid.PairVisitor {
+        final SpatialGrid.Scratch scratch = new SpatialGrid.Scratch();
+        int[] a = new int[256];
+        int[] b = new int[256];
+        float[] fx = new float[256];
+        float[] fy = new float[256];
+        int size;
+
+        @Override
+        public void visit(int idA, int idB, float dx, float dy, float distanceSquared) {
+            if (distanceSquared <= 0) return;
+            if (size >= a.length) {
+                int capacity = size * 2;
+                a = Arrays.copyOf(a, capacity);
+                b = Arrays.copyOf(b, capacity);
+                fx = Arrays.copyOf(fx, capacity);
+                fy = Arrays.copyOf(fy, capacity);
             }
+            float distance = (float) Math.sqrt(distanceSquared);
+            float strength = (AVOIDANCE_RADIUS - distance) / AVOIDANCE_RADIUS;
+            a[size] = idA;
+            b[size] = idB;
+            fx[size] = dx / distance * (strength * 50);
+            fy[size] = dy / distance * (strength * 50);
+            size++;
+        }
+    }
+    
+    public void onCollision(GameObject a, GameObject b) {
+        if (gameOver) return;
+        boolean aPlayer = PLAYER_TAG.equals(a.getTag());
+        boolean bPlayer = PLAYER_TAG.equals(b.getTag());
+        if (aPlayer != bPlayer && AI_PLAYER_TAG.equals((aPlayer ? b : a).getTag())) {
+            gameOver = true;
         }
     }
 }
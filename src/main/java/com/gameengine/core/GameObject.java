@@ -1,16 +1,33 @@
 package com.gameengine.core;
 
+import com.gameengine.scene.Scene;
+
 import java.util.*;
 
 public class GameObject {
     protected boolean active;
     protected String name;
+    private String tag;
+    private String networkId;
     protected final List<Component<?>> components;
+    // 按 ComponentRegistry id 索引的组件槽位
+    private Component<?>[] slots;
+    private Scene scene;
+    // 所属 archetype 及行号，由 ArchetypeStorage 维护
+    Archetype archetype;
+    int archetypeRow = -1;
+    // 由 EntityRegistry 分配，未加入场景时为 INVALID_HANDLE
+    int handle = EntityRegistry.INVALID_HANDLE;
+    // 对象池归属，由 GameObjectPool 维护
+    GameObjectPool pool;
+    boolean inPool;
+    private boolean destroyed;
     
     public GameObject() {
         this.active = true;
         this.name = "GameObject";
         this.components = new ArrayList<>();
+        this.slots = new Component<?>[Math.max(8, ComponentRegistry.getTypeCount())];
     }
     
     public GameObject(String name) {
@@ -18,6 +35,11 @@ public class GameObject {
         this.name = name;
     }
     
+    public GameObject(String name, String tag) {
+        this(name);
+        this.tag = tag != null ? tag.intern() : null;
+    }
+    
     public void update(float deltaTime) {
         updateComponents(deltaTime);
     }
@@ -31,36 +53,56 @@ public class GameObject {
     
     public void destroy() {
         this.active = false;
+        this.destroyed = true;
         for (Component<?> component : components) {
             component.destroy();
         }
         components.clear();
+        Arrays.fill(slots, null);
+        if (scene != null) {
+            scene.onGameObjectDestroyed(this);
+        }
+    }
+    
+    // 供对象池复用：重新激活并将组件恢复为初始状态
+    public void reset() {
+        this.active = true;
+        for (Component<?> component : components) {
+            component.reset();
+        }
     }
     
     public <T extends Component<T>> T addComponent(T component) {
         component.setOwner(this);
         components.add(component);
+        for (int id : ComponentRegistry.hierarchyOf(component.getClass())) {
+            if (id >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(id + 1, slots.length * 2));
+            }
+            if (slots[id] == null) {
+                slots[id] = component;
+            }
+        }
+        if (scene != null) {
+            scene.onComponentAdded(this, component);
+        }
         component.initialize();
         return component;
     }
     
     @SuppressWarnings("unchecked")
     public <T extends Component<T>> T getComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return (T) component;
-            }
-        }
-        return null;
+        int id = ComponentRegistry.idOf(componentType);
+        return id < slots.length ? (T) slots[id] : null;
     }
     
     public <T extends Component<T>> boolean hasComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return true;
-            }
-        }
-        return false;
+        int id = ComponentRegistry.idOf(componentType);
+        return id < slots.length && slots[id] != null;
+    }
+    
+    public boolean hasComponentType(int typeId) {
+        return typeId < slots.length && slots[typeId] != null;
     }
     
     public void updateComponents(float deltaTime) {
@@ -87,11 +129,59 @@ public class GameObject {
         this.active = active;
     }
     
+    public int getHandle() {
+        return handle;
+    }
+    
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+    
+    public GameObjectPool getPool() {
+        return pool;
+    }
+    
+    public Scene getScene() {
+        return scene;
+    }
+    
+    public void setScene(Scene scene) {
+        this.scene = scene;
+    }
+    
     public String getName() {
         return name;
     }
     
     public void setName(String name) {
+        String oldName = this.name;
         this.name = name;
+        if (scene != null) {
+            scene.onGameObjectRenamed(this, oldName);
+        }
+    }
+    
+    public String getTag() {
+        return tag;
+    }
+    
+    public void setTag(String tag) {
+        String oldTag = this.tag;
+        this.tag = tag != null ? tag.intern() : null;
+        if (scene != null) {
+            scene.onGameObjectRetagged(this, oldTag);
+        }
+    }
+    
+    public String getNetworkId() {
+        return networkId;
+    }
+    
+    public void setNetworkId(String networkId) {
+        String oldId = this.networkId;
+        this.networkId = networkId;
+        if (scene != null) {
+            scene.onNetworkIdChanged(this, oldId);
+        }
     }
 }
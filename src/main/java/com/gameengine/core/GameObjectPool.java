@@ -0,0 +1,114 @@
+package com.gameengine.core;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// 实体对象池：场景回收停用对象，再次获取时重置组件状态而非重新分配
+public class GameObjectPool {
+    private final String name;
+    private final Supplier<GameObject> factory;
+    private final Consumer<GameObject> resetAction;
+    private final ArrayDeque<GameObject> free;
+    private final int maxPooled;
+    private long acquireCount;
+    private long hitCount;
+    private long releaseCount;
+    private long discardCount;
+
+    public GameObjectPool(String name, Supplier<GameObject> factory, int maxPooled) {
+        this(name, factory, null, maxPooled);
+    }
+
+    public GameObjectPool(String name, Supplier<GameObject> factory, Consumer<GameObject> resetAction, int maxPooled) {
+        this.name = name;
+        this.factory = factory;
+        this.resetAction = resetAction;
+        this.free = new ArrayDeque<>();
+        this.maxPooled = Math.max(0, maxPooled);
+    }
+
+    public GameObject acquire() {
+        acquireCount++;
+        GameObject obj = free.pollLast();
+        if (obj != null) {
+            hitCount++;
+            obj.inPool = false;
+            obj.reset();
+            if (resetAction != null) {
+                resetAction.accept(obj);
+            }
+            return obj;
+        }
+        obj = factory.get();
+        obj.pool = this;
+        return obj;
+    }
+
+    public boolean release(GameObject obj) {
+        if (obj == null || obj.inPool) return false;
+        if (obj.pool != this || obj.isDestroyed() || obj.getScene() != null || free.size() >= maxPooled) {
+            discardCount++;
+            return false;
+        }
+        obj.inPool = true;
+        free.addLast(obj);
+        releaseCount++;
+        return true;
+    }
+
+    public void prewarm(int count) {
+        while (free.size() < Math.min(count, maxPooled)) {
+            GameObject obj = factory.get();
+            obj.pool = this;
+            obj.setActive(false);
+            obj.inPool = true;
+            free.addLast(obj);
+        }
+    }
+
+    public void clear() {
+        for (GameObject obj : free) {
+            obj.inPool = false;
+        }
+        free.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPooledCount() {
+        return free.size();
+    }
+
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return acquireCount - hitCount;
+    }
+
+    public long getReleaseCount() {
+        return releaseCount;
+    }
+
+    public long getDiscardCount() {
+        return discardCount;
+    }
+
+    public float getHitRate() {
+        return acquireCount == 0 ? 0f : (float) hitCount / acquireCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameObjectPool[%s] pooled=%d acquire=%d hit=%.1f%% release=%d discard=%d",
+            name, free.size(), acquireCount, getHitRate() * 100f, releaseCount, discardCount);
+    }
+}
@@ -0,0 +1,93 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+// 以实体句柄为键的旁路表：按槽位寻址，句柄代数不符即视为过期
+public class HandleTable<V> {
+    private int[] handles;
+    private Object[] values;
+    private int count;
+
+    public HandleTable() {
+        this.handles = new int[64];
+        this.values = new Object[64];
+        this.count = 0;
+    }
+
+    public void put(int handle, V value) {
+        if (handle == EntityRegistry.INVALID_HANDLE) return;
+        int slot = EntityRegistry.slotOf(handle);
+        if (slot >= handles.length) {
+            int capacity = Math.max(slot + 1, handles.length * 2);
+            handles = Arrays.copyOf(handles, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        if (handles[slot] == EntityRegistry.INVALID_HANDLE) {
+            count++;
+        }
+        handles[slot] = handle;
+        values[slot] = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int handle) {
+        int slot = EntityRegistry.slotOf(handle);
+        if (slot >= handles.length || handles[slot] != handle || handle == EntityRegistry.INVALID_HANDLE) {
+            return null;
+        }
+        return (V) values[slot];
+    }
+
+    public boolean containsKey(int handle) {
+        return get(handle) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int handle) {
+        V value = get(handle);
+        if (value != null) {
+            int slot = EntityRegistry.slotOf(handle);
+            handles[slot] = EntityRegistry.INVALID_HANDLE;
+            values[slot] = null;
+            count--;
+        }
+        return value;
+    }
+
+    // 清除不再满足条件（通常为已失效）的句柄
+    public void removeStale(IntPredicate alive) {
+        for (int slot = 0; slot < handles.length; slot++) {
+            int handle = handles[slot];
+            if (handle != EntityRegistry.INVALID_HANDLE && !alive.test(handle)) {
+                handles[slot] = EntityRegistry.INVALID_HANDLE;
+                values[slot] = null;
+                count--;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<V> action) {
+        for (int slot = 0; slot < handles.length; slot++) {
+            if (handles[slot] != EntityRegistry.INVALID_HANDLE) {
+                action.accept((V) values[slot]);
+            }
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(handles, EntityRegistry.INVALID_HANDLE);
+        Arrays.fill(values, null);
+        count = 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.gameengine.core;
+
+// 物理积分内核：对 Archetype 的 [start, end) 行执行积分、摩擦与边界反弹
+// 速度平方低于 sleepSpeedSquared 且无加速度的行累计 idleTicks，达到 sleepTicks 后清零速度并休眠
+// 向量化实现依赖孵化模块 jdk.incubator.vector，运行时不可用则回退标量实现
+public interface IntegrationKernel {
+    String VECTOR_KERNEL = "com.gameengine.core.VectorIntegrationKernel";
+
+    String getName();
+
+    void integrate(Archetype archetype, int start, int end, float deltaTime, float maxX, float maxY,
+                   float sleepSpeedSquared, float sleepTicks);
+
+    // -Dgameengine.simd=false 可强制使用标量内核，便于对比
+    static IntegrationKernel select() {
+        if (!"false".equalsIgnoreCase(System.getProperty("gameengine.simd"))) {
+            try {
+                return (IntegrationKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // 未以 --add-modules jdk.incubator.vector 编译或启动
+            }
+        }
+        return new ScalarIntegrationKernel();
+    }
+}
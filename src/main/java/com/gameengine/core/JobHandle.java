@@ -0,0 +1,29 @@
+package com.gameengine.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// 已调度任务的句柄，可作为其他任务的依赖
+public final class JobHandle {
+    final CompletableFuture<Void> future;
+
+    JobHandle(CompletableFuture<Void> future) {
+        this.future = future;
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    // 等待任务完成；任务异常以 RuntimeException 形式抛出
+    public void complete() {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// 引擎共享的任务系统：单个工作窃取线程池，供物理、AI、粒子、录制等系统复用
+public final class JobSystem {
+    private static JobSystem instance;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private List<JobHandle> frameJobs;
+    private List<JobHandle> joiningJobs;
+
+    public interface RangeJob {
+        void run(int start, int end);
+    }
+
+    private JobSystem(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        this.pool = new ForkJoinPool(this.parallelism);
+        this.frameJobs = new ArrayList<>();
+        this.joiningJobs = new ArrayList<>();
+    }
+
+    public static synchronized JobSystem getInstance() {
+        if (instance == null) {
+            // 留一个核心给调用线程（模拟线程本身也会参与 parallelFor）
+            instance = new JobSystem(Runtime.getRuntime().availableProcessors() - 1);
+        }
+        return instance;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    // 将 [0, count) 按 grain 切分并行执行；count 不超过 grain 时直接在调用线程串行执行
+    public void parallelFor(int count, int grain, RangeJob job) {
+        if (count <= 0) return;
+        grain = Math.max(1, grain);
+        if (count <= grain || parallelism == 1) {
+            job.run(0, count);
+            return;
+        }
+        RangeTask task = new RangeTask(job, 0, count, grain);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    // 调度一个在本帧结束前必须完成的任务，依赖全部完成后才开始
+    public JobHandle schedule(Runnable job, JobHandle... dependencies) {
+        JobHandle handle = scheduleDetached(job, dependencies);
+        synchronized (this) {
+            frameJobs.add(handle);
+        }
+        return handle;
+    }
+
+    // 不参与每帧汇合的后台任务（如录制序列化），调用方自行等待
+    public JobHandle scheduleDetached(Runnable job, JobHandle... dependencies) {
+        CompletableFuture<Void> future;
+        if (dependencies == null || dependencies.length == 0) {
+            future = CompletableFuture.runAsync(job, pool);
+        } else if (dependencies.length == 1) {
+            future = dependencies[0].future.thenRunAsync(job, pool);
+        } else {
+            CompletableFuture<?>[] deps = new CompletableFuture<?>[dependencies.length];
+            for (int i = 0; i < dependencies.length; i++) {
+                deps[i] = dependencies[i].future;
+            }
+            future = CompletableFuture.allOf(deps).thenRunAsync(job, pool);
+        }
+        return new JobHandle(future);
+    }
+
+    // 每帧汇合点：等待本帧 schedule 的全部任务（含任务执行中追加调度的任务）
+    public void completeFrame() {
+        RuntimeException failure = null;
+        while (true) {
+            List<JobHandle> pending;
+            synchronized (this) {
+                if (frameJobs.isEmpty()) break;
+                pending = frameJobs;
+                frameJobs = joiningJobs;
+                joiningJobs = pending;
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                try {
+                    pending.get(i).complete();
+                } catch (RuntimeException e) {
+                    if (failure == null) failure = e;
+                }
+            }
+            pending.clear();
+        }
+        if (failure != null) throw failure;
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final RangeJob job;
+        private final int start;
+        private final int end;
+        private final int grain;
+
+        RangeTask(RangeJob job, int start, int end, int grain) {
+            this.job = job;
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                job.run(start, end);
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            invokeAll(new RangeTask(job, start, mid, grain), new RangeTask(job, mid, end, grain));
+        }
+    }
+}
@@ -0,0 +1,591 @@
+package com.gameengine.core;
+
+import com.gameengine.components.TransformComponent;
+import com.gameengine.graphics.IRenderer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+// 场景级粒子管理：所有发射器共享一个定长列存储池，更新与渲染各为一个线性循环
+// 发射器以分代 int 句柄表示，销毁后已发射的粒子继续存活直至自然消亡
+public class ParticleManager {
+    public enum EvictionPolicy {
+        // 池满时淘汰最早发射的粒子
+        OLDEST,
+        // 先淘汰优先级最低的粒子，同优先级中淘汰最早的；新粒子不会挤掉更高优先级的粒子
+        LOWEST_PRIORITY
+    }
+
+    // 发射器参数：持续发射与 burst 各自的速度、寿命、尺寸与颜色范围
+    public static class Config {
+        public float spawnRate = 0.015f;
+        public int initialCount = 30;
+        public float speedMin = 40f;
+        public float speedMax = 100f;
+        public float lifeMin = 0.8f;
+        public float lifeMax = 2.0f;
+        public float sizeMin = 3f;
+        public float sizeMax = 7f;
+        public float r = 1.0f;
+        public float g = 1.0f;
+        public float b = 0.0f;
+        public float opacityMultiplier = 1.0f;
+        public float minRenderSize = 2.0f;
+        
+        public float burstSpeedMin = 80f;
+        public float burstSpeedMax = 200f;
+        public float burstLifeMin = 0.6f;
+        public float burstLifeMax = 1.6f;
+        public float burstSizeMin = 4f;
+        public float burstSizeMax = 10f;
+        public float burstR = 1.0f;
+        public float burstGMin = 0.5f;
+        public float burstGMax = 1.0f;
+        public float burstB = 0.0f;
+        
+        public static Config defaultPlayer() {
+            Config config = new Config();
+            config.spawnRate = 0.015f;
+            config.initialCount = 30;
+            config.speedMin = 40f;
+            config.speedMax = 100f;
+            config.lifeMin = 0.8f;
+            config.lifeMax = 2.0f;
+            config.sizeMin = 3f;
+            config.sizeMax = 7f;
+            config.r = 1.0f;
+            config.g = 1.0f;
+            config.b = 0.0f;
+            config.opacityMultiplier = 1.0f;
+            config.minRenderSize = 2.0f;
+            return config;
+        }
+        
+        public static Config light() {
+            Config config = new Config();
+            config.spawnRate = 0.05f;
+            config.initialCount = 10;
+            config.speedMin = 20f;
+            config.speedMax = 50f;
+            config.lifeMin = 0.5f;
+            config.lifeMax = 1.3f;
+            config.sizeMin = 2f;
+            config.sizeMax = 5f;
+            config.r = 0.6f + 0.2f;
+            config.g = 0.8f + 0.2f;
+            config.b = 1.0f;
+            config.opacityMultiplier = 0.6f;
+            config.minRenderSize = 1.5f;
+            return config;
+        }
+    }
+
+    public static final int INVALID_EMITTER = 0;
+
+    private static final int SLOT_BITS = 16;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int MAX_PRIORITY = 255;
+    // 淘汰排序键：优先级(8 位) | 反向年龄(24 位) | 下标(20 位)
+    private static final int AGE_MASK = (1 << 24) - 1;
+    private static final int INDEX_BITS = 20;
+    private static final int MAX_CAPACITY = 1 << INDEX_BITS;
+    // 并行积分的块大小；每个粒子独立积分，结果与块划分和线程数无关
+    private static final int CHUNK = 2048;
+    // 每累计这么多个并行步，按两种模式的实测耗时调整一次阈值
+    private static final int TUNE_INTERVAL = 60;
+
+    private final IRenderer renderer;
+    private final Random random;
+    private EvictionPolicy evictionPolicy;
+
+    // 粒子列：存活粒子紧凑排列在 [0, alive)
+    private final float[] posX, posY;
+    private final float[] velX, velY;
+    private final float[] life, maxLife;
+    private final float[] size;
+    private final float[] colorR, colorG, colorB, alpha;
+    private final float[] opacity, minSize;
+    private final int[] priority;
+    private final int[] birthTick;
+    private int alive;
+    private int tick;
+    // 渲染时打包的矩形数据，整池一次提交给渲染器
+    private final FloatBuffer rects;
+
+    // 本 tick 的淘汰候选，按排序键升序；粒子被换位移除后失效
+    private final long[] victims;
+    private int victimCount;
+    private int victimCursor;
+    private boolean victimsValid;
+
+    private Emitter[] emitters;
+    private int[] freeSlots;
+    private int freeCount;
+    private int slotCount;
+    private int emitterCount;
+
+    // 粒子数超过该阈值才分块并行积分，低于时 fork/join 开销大于收益
+    // 默认值为估计值（未做多核实测），运行中由 tuneThreshold 按两种模式的实测耗时修正
+    private int parallelThreshold = 8192;
+    private final JobSystem jobs;
+    private long lastStepNanos;
+    private double averageStepNanos;
+    private boolean lastStepParallel;
+    // 两种模式各自的每粒子耗时（指数平均），用于判断并行是否划算、调整阈值
+    private double serialNanosPerParticle;
+    private double parallelNanosPerParticle;
+    private int parallelSteps;
+
+    private long spawned;
+    private long evicted;
+    private long dropped;
+
+    private static final class Emitter {
+        int generation;
+        boolean alive;
+        Config config;
+        float x, y;
+        float spawnTimer;
+        float spawnRate;
+        boolean active;
+        int priority;
+        // 跟随对象：记录其加入场景后的句柄，句柄变化（被移除或回收复用）即销毁发射器
+        GameObject follow;
+        int followHandle;
+    }
+
+    public ParticleManager(IRenderer renderer, int capacity, long seed) {
+        int n = Math.max(1, Math.min(capacity, MAX_CAPACITY));
+        this.renderer = renderer;
+        this.random = new Random(seed);
+        this.jobs = JobSystem.getInstance();
+        this.evictionPolicy = EvictionPolicy.LOWEST_PRIORITY;
+        this.posX = new float[n];
+        this.posY = new float[n];
+        this.velX = new float[n];
+        this.velY = new float[n];
+        this.life = new float[n];
+        this.maxLife = new float[n];
+        this.size = new float[n];
+        this.colorR = new float[n];
+        this.colorG = new float[n];
+        this.colorB = new float[n];
+        this.alpha = new float[n];
+        this.opacity = new float[n];
+        this.minSize = new float[n];
+        this.priority = new int[n];
+        this.birthTick = new int[n];
+        this.victims = new long[n];
+        this.rects = ByteBuffer.allocateDirect(n * IRenderer.RECT_FLOATS * Float.BYTES)
+            .order(ByteOrder.nativeOrder()).asFloatBuffer();
+        this.emitters = new Emitter[16];
+        this.freeSlots = new int[16];
+    }
+
+    public int createEmitter(Config config, float x, float y, int priority) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            slot = slotCount++;
+            if (slot > SLOT_MASK) {
+                throw new IllegalStateException("发射器数量超过上限: " + (SLOT_MASK + 1));
+            }
+            if (slot >= emitters.length) {
+                emitters = Arrays.copyOf(emitters, emitters.length * 2);
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+            }
+            emitters[slot] = new Emitter();
+        }
+        Emitter e = emitters[slot];
+        e.generation = e.generation % ((1 << (31 - SLOT_BITS)) - 1) + 1;
+        e.alive = true;
+        e.config = config;
+        e.x = x;
+        e.y = y;
+        e.spawnTimer = 0f;
+        e.spawnRate = config.spawnRate;
+        e.active = true;
+        e.priority = Math.max(0, Math.min(MAX_PRIORITY, priority));
+        e.follow = null;
+        e.followHandle = EntityRegistry.INVALID_HANDLE;
+        emitterCount++;
+
+        for (int i = 0; i < config.initialCount; i++) {
+            spawnParticle(e);
+        }
+        return (e.generation << SLOT_BITS) | slot;
+    }
+
+    // 发射器每 tick 跟随对象的位置，对象离开场景后自动销毁
+    public int createEmitter(Config config, GameObject follow, int priority) {
+        TransformComponent transform = follow.getComponent(TransformComponent.class);
+        float x = transform != null ? transform.getX() : 0;
+        float y = transform != null ? transform.getY() : 0;
+        int handle = createEmitter(config, x, y, priority);
+        Emitter e = emitters[handle & SLOT_MASK];
+        e.follow = follow;
+        e.followHandle = follow.getHandle();
+        return handle;
+    }
+
+    private Emitter resolve(int handle) {
+        if (handle == INVALID_EMITTER) return null;
+        int slot = handle & SLOT_MASK;
+        if (slot >= slotCount) return null;
+        Emitter e = emitters[slot];
+        return e.alive && e.generation == handle >>> SLOT_BITS ? e : null;
+    }
+
+    public boolean isEmitterAlive(int handle) {
+        return resolve(handle) != null;
+    }
+
+    public void setEmitterPosition(int handle, float x, float y) {
+        Emitter e = resolve(handle);
+        if (e != null) {
+            e.x = x;
+            e.y = y;
+        }
+    }
+
+    public void setEmitterActive(int handle, boolean active) {
+        Emitter e = resolve(handle);
+        if (e != null) e.active = active;
+    }
+
+    public void setEmitterSpawnRate(int handle, float rate) {
+        Emitter e = resolve(handle);
+        if (e != null) e.spawnRate = rate;
+    }
+
+    public void destroyEmitter(int handle) {
+        Emitter e = resolve(handle);
+        if (e != null) release(handle & SLOT_MASK);
+    }
+
+    private void release(int slot) {
+        Emitter e = emitters[slot];
+        e.alive = false;
+        e.config = null;
+        e.follow = null;
+        freeSlots[freeCount++] = slot;
+        emitterCount--;
+    }
+
+    public void burst(int handle, int count) {
+        Emitter e = resolve(handle);
+        if (e == null) return;
+        Config config = e.config;
+        for (int i = 0; i < count; i++) {
+            float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
+            float speed = config.burstSpeedMin + random.nextFloat() * (config.burstSpeedMax - config.burstSpeedMin);
+            float vx = (float) (Math.cos(angle) * speed);
+            float vy = (float) (Math.sin(angle) * speed);
+
+            float lifetime = config.burstLifeMin + random.nextFloat() * (config.burstLifeMax - config.burstLifeMin);
+            float particleSize = config.burstSizeMin + random.nextFloat() * (config.burstSizeMax - config.burstSizeMin);
+
+            float g = config.burstGMin + random.nextFloat() * (config.burstGMax - config.burstGMin);
+            add(e, vx, vy, lifetime, particleSize, config.burstR, g, config.burstB);
+        }
+    }
+
+    private void spawnParticle(Emitter e) {
+        Config config = e.config;
+        float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
+        float speed = config.speedMin + random.nextFloat() * (config.speedMax - config.speedMin);
+        float vx = (float) (Math.cos(angle) * speed);
+        float vy = (float) (Math.sin(angle) * speed);
+
+        float lifetime = config.lifeMin + random.nextFloat() * (config.lifeMax - config.lifeMin);
+        float particleSize = config.sizeMin + random.nextFloat() * (config.sizeMax - config.sizeMin);
+
+        float r = config.r;
+        float g = config.g;
+        if (config.r < 1.0f) {
+            r = config.r + random.nextFloat() * 0.2f;
+        }
+        if (config.g < 1.0f) {
+            g = config.g + random.nextFloat() * 0.2f;
+        }
+        add(e, vx, vy, lifetime, particleSize, r, g, config.b);
+    }
+
+    private void add(Emitter e, float vx, float vy, float lifetime, float particleSize, float r, float g, float b) {
+        int i;
+        if (alive < posX.length) {
+            i = alive++;
+        } else {
+            i = takeVictim(e.priority);
+            if (i < 0) {
+                dropped++;
+                return;
+            }
+            evicted++;
+        }
+        posX[i] = e.x;
+        posY[i] = e.y;
+        velX[i] = vx;
+        velY[i] = vy;
+        life[i] = lifetime;
+        maxLife[i] = lifetime;
+        size[i] = particleSize;
+        colorR[i] = r;
+        colorG[i] = g;
+        colorB[i] = b;
+        alpha[i] = 1.0f;
+        opacity[i] = e.config.opacityMultiplier;
+        minSize[i] = e.config.minRenderSize;
+        priority[i] = e.priority;
+        birthTick[i] = tick;
+        spawned++;
+    }
+
+    // 池满时每 tick 只排序一次候选，之后按序取用；被覆盖的槽位已是新粒子，不会重复淘汰
+    private int takeVictim(int spawnPriority) {
+        if (!victimsValid) {
+            boolean byPriority = evictionPolicy == EvictionPolicy.LOWEST_PRIORITY;
+            for (int i = 0; i < alive; i++) {
+                long age = Math.min(tick - birthTick[i], AGE_MASK);
+                long p = byPriority ? priority[i] : 0;
+                victims[i] = (p << 44) | ((AGE_MASK - age) << INDEX_BITS) | i;
+            }
+            Arrays.sort(victims, 0, alive);
+            victimCount = alive;
+            victimCursor = 0;
+            victimsValid = true;
+        }
+        if (victimCursor >= victimCount) return -1;
+        long key = victims[victimCursor];
+        if (evictionPolicy == EvictionPolicy.LOWEST_PRIORITY && (int) (key >>> 44) > spawnPriority) {
+            return -1;
+        }
+        victimCursor++;
+        return (int) (key & (MAX_CAPACITY - 1));
+    }
+
+    public void update(float deltaTime) {
+        tick++;
+        victimsValid = false;
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            Emitter e = emitters[slot];
+            if (!e.alive) continue;
+            if (e.follow != null && !followTarget(e)) {
+                release(slot);
+                continue;
+            }
+            if (e.active) {
+                e.spawnTimer += deltaTime;
+                if (e.spawnTimer >= e.spawnRate) {
+                    spawnParticle(e);
+                    e.spawnTimer = 0f;
+                }
+            }
+        }
+
+        int count = alive;
+        boolean eligible = count > parallelThreshold && jobs.getParallelism() > 1;
+        // 尚无串行样本或已满一个调参周期时，改为串行积分一次作为同规模的对照样本
+        boolean probe = eligible && (serialNanosPerParticle == 0 || parallelSteps >= TUNE_INTERVAL);
+        lastStepParallel = eligible && !probe;
+        long start = System.nanoTime();
+        if (lastStepParallel) {
+            jobs.parallelFor(count, CHUNK, (from, to) -> integrate(from, to, deltaTime));
+        } else {
+            integrate(0, count, deltaTime);
+        }
+        long integrateNanos = System.nanoTime() - start;
+        
+        // 先整体积分再按下标顺序移除：与边积分边移除的结果逐元素一致
+        int i = 0;
+        while (i < alive) {
+            if (life[i] > 0) {
+                i++;
+            } else {
+                removeAt(i);
+            }
+        }
+        victimsValid = false;
+        
+        lastStepNanos = System.nanoTime() - start;
+        averageStepNanos = averageStepNanos == 0 ? lastStepNanos : averageStepNanos * 0.95 + lastStepNanos * 0.05;
+        // 每粒子耗时只统计积分阶段：移除阶段两种模式相同，计入会冲淡差异；小批量固定开销偏大，也不计入
+        if (count >= CHUNK) {
+            double perParticle = (double) integrateNanos / count;
+            if (lastStepParallel) {
+                parallelNanosPerParticle = parallelNanosPerParticle == 0 ? perParticle : parallelNanosPerParticle * 0.95 + perParticle * 0.05;
+                parallelSteps++;
+            } else {
+                serialNanosPerParticle = serialNanosPerParticle == 0 ? perParticle : serialNanosPerParticle * 0.95 + perParticle * 0.05;
+                if (probe && parallelSteps >= TUNE_INTERVAL) {
+                    tuneThreshold(perParticle);
+                    parallelSteps = 0;
+                }
+            }
+        }
+    }
+    
+    // 以本次串行对照样本比较近期并行均值：并行不比串行快就提高阈值，明显更快则降低；阈值只影响耗时，不影响结果
+    private void tuneThreshold(double serialSample) {
+        if (parallelNanosPerParticle >= serialSample) {
+            parallelThreshold = Math.min(parallelThreshold * 2, posX.length);
+        } else if (parallelNanosPerParticle * 2 < serialSample) {
+            parallelThreshold = Math.max(parallelThreshold / 2, CHUNK * 2);
+        }
+    }
+    
+    private void integrate(int from, int to, float deltaTime) {
+        for (int i = from; i < to; i++) {
+            posX[i] += velX[i] * deltaTime;
+            posY[i] += velY[i] * deltaTime;
+            float remaining = life[i] - deltaTime;
+            life[i] = remaining;
+            if (remaining > 0) {
+                alpha[i] = remaining / maxLife[i];
+                velX[i] *= 0.98f;
+                velY[i] *= 0.98f;
+            }
+        }
+    }
+
+    private boolean followTarget(Emitter e) {
+        GameObject obj = e.follow;
+        int handle = obj.getHandle();
+        if (e.followHandle == EntityRegistry.INVALID_HANDLE) {
+            // 对象尚未加入场景，等待其获得句柄
+            e.followHandle = handle;
+        } else if (handle != e.followHandle || !obj.isActive()) {
+            return false;
+        }
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        if (transform != null) {
+            e.x = transform.getX();
+            e.y = transform.getY();
+        }
+        return true;
+    }
+
+    private void removeAt(int i) {
+        int last = --alive;
+        if (i == last) return;
+        posX[i] = posX[last];
+        posY[i] = posY[last];
+        velX[i] = velX[last];
+        velY[i] = velY[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        size[i] = size[last];
+        colorR[i] = colorR[last];
+        colorG[i] = colorG[last];
+        colorB[i] = colorB[last];
+        alpha[i] = alpha[last];
+        opacity[i] = opacity[last];
+        minSize[i] = minSize[last];
+        priority[i] = priority[last];
+        birthTick[i] = birthTick[last];
+    }
+
+    public void render() {
+        if (renderer == null) return;
+
+        float maxW = renderer.getWidth();
+        float maxH = renderer.getHeight();
+        FloatBuffer out = rects;
+        out.clear();
+        int visible = 0;
+        for (int i = 0; i < alive; i++) {
+            float x = posX[i];
+            float y = posY[i];
+            float a = Math.min(1.0f, Math.max(0.0f, alpha[i])) * opacity[i];
+            if (a <= 0.01f || x < -50 || x > maxW + 50 || y < -50 || y > maxH + 50) continue;
+
+            float r = Math.min(1.0f, Math.max(0.0f, colorR[i]));
+            float g = Math.min(1.0f, Math.max(0.0f, colorG[i]));
+            float b = Math.min(1.0f, Math.max(0.0f, colorB[i]));
+            float renderSize = Math.max(minSize[i], size[i] * a);
+            out.put(x - renderSize * 0.5f).put(y - renderSize * 0.5f).put(renderSize).put(renderSize);
+            out.put(r).put(g).put(b).put(a);
+            visible++;
+        }
+        out.flip();
+        renderer.drawRects(out, visible);
+    }
+
+    public void setEvictionPolicy(EvictionPolicy policy) {
+        this.evictionPolicy = policy;
+        this.victimsValid = false;
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public void setParallelThreshold(int threshold) {
+        this.parallelThreshold = Math.max(0, threshold);
+    }
+    
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+    
+    public double getLastStepMicros() {
+        return lastStepNanos / 1000.0;
+    }
+    
+    public double getAverageStepMicros() {
+        return averageStepNanos / 1000.0;
+    }
+    
+    public boolean isLastStepParallel() {
+        return lastStepParallel;
+    }
+    
+    // 尚无样本时返回 0
+    public double getSerialNanosPerParticle() {
+        return serialNanosPerParticle;
+    }
+    
+    public double getParallelNanosPerParticle() {
+        return parallelNanosPerParticle;
+    }
+    
+    public int getParticleCount() {
+        return alive;
+    }
+
+    public int getCapacity() {
+        return posX.length;
+    }
+
+    public int getEmitterCount() {
+        return emitterCount;
+    }
+
+    public long getEvictedCount() {
+        return evicted;
+    }
+
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    public void clear() {
+        alive = 0;
+        victimsValid = false;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (emitters[slot].alive) release(slot);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ParticleManager particles=%d/%d emitters=%d spawned=%d evicted=%d dropped=%d step=%.1fus serial=%.1fns/p parallel=%.1fns/p",
+            alive, posX.length, emitterCount, spawned, evicted, dropped,
+            getAverageStepMicros(), serialNanosPerParticle, parallelNanosPerParticle);
+    }
+}
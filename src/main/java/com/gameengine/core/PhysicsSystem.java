@@ -1,22 +1,33 @@
 package com.gameengine.core;
 
-import com.gameengine.components.TransformComponent;
+import com.gameengine.components.ColliderComponent;
 import com.gameengine.components.PhysicsComponent;
-import com.gameengine.math.Vector2;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.scene.EntityQuery;
 import com.gameengine.scene.Scene;
 
 import java.util.List;
-import java.util.ArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 
-public class PhysicsSystem {
+public class PhysicsSystem implements EngineSystem {
+    // 每个任务至少处理的实体数，低于该值时直接在模拟线程串行积分
+    private static final int GRAIN = 1024;
+    private static final Class<?>[] COMPONENTS = { TransformComponent.class, PhysicsComponent.class };
+    private static final Class<?>[] READS = { TransformComponent.class, PhysicsComponent.class, ColliderComponent.class };
+    // 进程内只选择一次：向量化内核可用时优先，每个任务内部再按 SIMD 宽度分段
+    private static final IntegrationKernel KERNEL = IntegrationKernel.select();
+
     private Scene scene;
-    private ExecutorService physicsExecutor;
+    private JobSystem jobs;
+    private EntityQuery colliders;
+    private Broadphase broadphase;
     private int screenWidth;
     private int screenHeight;
+    // 速度低于阈值且无加速度持续 sleepTicks 个 tick 后休眠；sleepTicks 为 0 时关闭休眠
+    private float sleepSpeed = 5f;
+    private int sleepTicks = 30;
+    private int awakeCount;
+    private int sleepingCount;
+    private final CollisionListener wakeOnContact = this::wakeOnContact;
     
     public PhysicsSystem(Scene scene) {
         this(scene, 1920, 1080);
@@ -26,120 +37,136 @@ public class PhysicsSystem {
         this.scene = scene;
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.physicsExecutor = Executors.newFixedThreadPool(threadCount);
+        this.jobs = JobSystem.getInstance();
+        this.colliders = scene.query(TransformComponent.class, ColliderComponent.class);
+        this.broadphase = new Broadphase();
+    }
+    
+    @Override
+    public String getName() {
+        return "Physics";
+    }
+    
+    @Override
+    public Class<?>[] getReads() {
+        return READS;
     }
     
+    @Override
+    public Class<?>[] getWrites() {
+        return COMPONENTS;
+    }
+    
+    @Override
     public void update(float deltaTime) {
-        List<PhysicsComponent> physicsComponents = scene.getComponents(PhysicsComponent.class);
-        if (physicsComponents.isEmpty()) return;
-        
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, physicsComponents.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
-        
-        for (int i = 0; i < physicsComponents.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, physicsComponents.size());
-            
-            Future<?> future = physicsExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    PhysicsComponent physics = physicsComponents.get(j);
-                    if (physics.isEnabled()) {
-                        updatePhysics(physics, deltaTime);
-                        handleBoundary(physics);
-                    }
-                }
-            });
-            
-            futures.add(future);
+        List<Archetype> archetypes = scene.getArchetypeStorage().getArchetypes();
+        float maxX = screenWidth - 15;
+        float maxY = screenHeight - 15;
+        float sleepSpeedSquared = sleepSpeed * sleepSpeed;
+        float ticksToSleep = sleepTicks > 0 ? sleepTicks : Float.POSITIVE_INFINITY;
+        
+        for (int a = 0; a < archetypes.size(); a++) {
+            Archetype archetype = archetypes.get(a);
+            if (!archetype.has(Archetype.TRANSFORM | Archetype.PHYSICS)) continue;
+            jobs.parallelFor(archetype.size(), GRAIN, (start, end) ->
+                KERNEL.integrate(archetype, start, end, deltaTime, maxX, maxY, sleepSpeedSquared, ticksToSleep));
         }
         
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
+        countActivity(archetypes);
+        detectCollisions();
     }
     
-    private void updatePhysics(PhysicsComponent physics, float deltaTime) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
-        
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
-        if (transform == null) return;
-        
-        Vector2 acceleration = physics.getAcceleration();
-        
-        if (physics.isUseGravity()) {
-            acceleration = acceleration.add(physics.getGravity());
-            physics.setAcceleration(acceleration);
+    private void countActivity(List<Archetype> archetypes) {
+        int awake = 0;
+        int sleeping = 0;
+        for (int a = 0; a < archetypes.size(); a++) {
+            Archetype archetype = archetypes.get(a);
+            if (!archetype.has(Archetype.PHYSICS)) continue;
+            boolean[] simulated = archetype.simulated;
+            float[] idleTicks = archetype.idleTicks;
+            for (int i = 0, n = archetype.size(); i < n; i++) {
+                if (!simulated[i]) continue;
+                if (idleTicks[i] < 0) {
+                    sleeping++;
+                } else {
+                    awake++;
+                }
+            }
         }
-        
-        Vector2 velocity = physics.getVelocity();
-        velocity = velocity.add(acceleration.multiply(deltaTime));
-        velocity = velocity.multiply(physics.getFriction());
-        physics.setVelocity(velocity);
-        
-        Vector2 deltaPosition = velocity.multiply(deltaTime);
-        transform.translate(deltaPosition);
-        
-        physics.setAcceleration(new Vector2());
+        awakeCount = awake;
+        sleepingCount = sleeping;
     }
     
-    private void handleBoundary(PhysicsComponent physics) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
-        
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
-        if (transform == null) return;
-        
-        Vector2 pos = transform.getPosition();
-        Vector2 velocity = physics.getVelocity();
-        
-        boolean velocityChanged = false;
-        float velX = velocity.x;
-        float velY = velocity.y;
-        float posX = pos.x;
-        float posY = pos.y;
-        
-        if (posX <= 0 || posX >= screenWidth - 15) {
-            velX = -velX;
-            velocityChanged = true;
+    // 积分完成后基于新位置检测碰撞，检测结束后统一派发事件；存在休眠物体时也需检测以便唤醒
+    private void detectCollisions() {
+        List<CollisionListener> listeners = scene.getCollisionListeners();
+        if ((listeners.isEmpty() && sleepingCount == 0) || colliders.isEmpty()) return;
+        
+        broadphase.begin();
+        for (int i = 0, n = colliders.size(); i < n; i++) {
+            GameObject obj = colliders.get(i);
+            if (!obj.isActive()) continue;
+            ColliderComponent collider = obj.getComponent(ColliderComponent.class);
+            if (!collider.isEnabled()) continue;
+            broadphase.add(obj, obj.getComponent(TransformComponent.class), collider);
         }
-        if (posY <= 0 || posY >= screenHeight - 15) {
-            velY = -velY;
-            velocityChanged = true;
+        broadphase.detect();
+        if (sleepingCount > 0) {
+            broadphase.deliver(wakeOnContact);
         }
-        
-        if (posX < 0) posX = 0;
-        if (posY < 0) posY = 0;
-        if (posX > screenWidth - 15) posX = screenWidth - 15;
-        if (posY > screenHeight - 15) posY = screenHeight - 15;
-        
-        transform.setPosition(new Vector2(posX, posY));
-        
-        if (velocityChanged) {
-            physics.setVelocity(new Vector2(velX, velY));
+        for (int i = 0; i < listeners.size(); i++) {
+            broadphase.deliver(listeners.get(i));
         }
     }
     
-    public void cleanup() {
-        if (physicsExecutor != null && !physicsExecutor.isShutdown()) {
-            physicsExecutor.shutdown();
-            try {
-                if (!physicsExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    physicsExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                physicsExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
+    // 只由醒着的物体唤醒，两个重叠的休眠物体不会互相反复唤醒
+    private void wakeOnContact(GameObject a, GameObject b) {
+        PhysicsComponent pa = a.getComponent(PhysicsComponent.class);
+        PhysicsComponent pb = b.getComponent(PhysicsComponent.class);
+        boolean aSleeping = pa != null && pa.isSleeping();
+        boolean bSleeping = pb != null && pb.isSleeping();
+        if (aSleeping && pb != null && !bSleeping) {
+            pa.wake();
+            sleepingCount--;
+            awakeCount++;
+        } else if (bSleeping && pa != null && !aSleeping) {
+            pb.wake();
+            sleepingCount--;
+            awakeCount++;
         }
     }
+    
+    public void setSleepThreshold(float speed, int ticks) {
+        this.sleepSpeed = Math.max(0f, speed);
+        this.sleepTicks = Math.max(0, ticks);
+    }
+    
+    public float getSleepSpeed() {
+        return sleepSpeed;
+    }
+    
+    public int getSleepTicks() {
+        return sleepTicks;
+    }
+    
+    public int getAwakeCount() {
+        return awakeCount;
+    }
+    
+    public int getSleepingCount() {
+        return sleepingCount;
+    }
+    
+    public static IntegrationKernel getKernel() {
+        return KERNEL;
+    }
+    
+    public int getLastCollisionCount() {
+        return broadphase.getPairCount();
+    }
+    
+    // 线程池由 JobSystem 共享，这里只释放碰撞缓冲中的对象引用
+    public void cleanup() {
+        broadphase.clear();
+    }
 }
-
@@ -0,0 +1,34 @@
+package com.gameengine.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+// 按名称派生的随机数流：每个系统持有自己的流，互不影响消耗顺序
+// 同名流重复申请时依次派生新种子，重开的场景不会重放上一局的随机序列
+public class RandomStreams {
+    private final long seed;
+    private final Map<String, Integer> generations;
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+        this.generations = new HashMap<>();
+    }
+
+    public Random stream(String name) {
+        int generation = generations.merge(name, 1, Integer::sum);
+        long h = mix(seed ^ mix(name.hashCode()));
+        return new Random(mix(h + generation));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // SplitMix64 终混，保证相近的种子得到不相关的流
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,61 @@
+package com.gameengine.core;
+
+public class ScalarIntegrationKernel implements IntegrationKernel {
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+    
+    // 按列线性遍历：积分、摩擦与边界反弹
+    @Override
+    public void integrate(Archetype archetype, int start, int end, float deltaTime, float maxX, float maxY,
+                          float sleepSpeedSquared, float sleepTicks) {
+        float[] posX = archetype.posX;
+        float[] posY = archetype.posY;
+        float[] velX = archetype.velX;
+        float[] velY = archetype.velY;
+        float[] accX = archetype.accX;
+        float[] accY = archetype.accY;
+        float[] gravX = archetype.gravX;
+        float[] gravY = archetype.gravY;
+        float[] friction = archetype.friction;
+        boolean[] simulated = archetype.simulated;
+        float[] idleTicks = archetype.idleTicks;
+        
+        for (int i = start; i < end; i++) {
+            if (!simulated[i] || idleTicks[i] < 0) continue;
+            
+            float ax = accX[i] + gravX[i];
+            float ay = accY[i] + gravY[i];
+            float vx = (velX[i] + ax * deltaTime) * friction[i];
+            float vy = (velY[i] + ay * deltaTime) * friction[i];
+            float x = posX[i] + vx * deltaTime;
+            float y = posY[i] + vy * deltaTime;
+            
+            if (x <= 0 || x >= maxX) vx = -vx;
+            if (y <= 0 || y >= maxY) vy = -vy;
+            if (x < 0) x = 0;
+            if (y < 0) y = 0;
+            if (x > maxX) x = maxX;
+            if (y > maxY) y = maxY;
+            
+            float idle = 0;
+            if (vx * vx + vy * vy < sleepSpeedSquared && ax == 0 && ay == 0) {
+                idle = idleTicks[i] + 1;
+                if (idle >= sleepTicks) {
+                    idle = -1;
+                    vx = 0;
+                    vy = 0;
+                }
+            }
+            
+            posX[i] = x;
+            posY[i] = y;
+            velX[i] = vx;
+            velY[i] = vy;
+            accX[i] = 0;
+            accY[i] = 0;
+            idleTicks[i] = idle;
+        }
+    }
+}
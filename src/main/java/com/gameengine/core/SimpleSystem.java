@@ -0,0 +1,57 @@
+package com.gameengine.core;
+
+// 以回调实现的系统，便于把已有的逐帧逻辑挂到调度器上
+public class SimpleSystem implements EngineSystem {
+    private static final Class<?>[] NONE = new Class<?>[0];
+
+    public interface Update {
+        void run(float deltaTime);
+    }
+
+    private final String name;
+    private final Class<?>[] reads;
+    private final Class<?>[] writes;
+    private final Update update;
+    private final boolean exclusive;
+
+    public SimpleSystem(String name, Class<?>[] reads, Class<?>[] writes, Update update) {
+        this(name, reads, writes, update, false);
+    }
+
+    private SimpleSystem(String name, Class<?>[] reads, Class<?>[] writes, Update update, boolean exclusive) {
+        this.name = name;
+        this.reads = reads != null ? reads : NONE;
+        this.writes = writes != null ? writes : NONE;
+        this.update = update;
+        this.exclusive = exclusive;
+    }
+
+    public static SimpleSystem exclusive(String name, Update update) {
+        return new SimpleSystem(name, NONE, NONE, update, true);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Class<?>[] getReads() {
+        return reads;
+    }
+
+    @Override
+    public Class<?>[] getWrites() {
+        return writes;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        update.run(deltaTime);
+    }
+
+    @Override
+    public boolean isExclusive() {
+        return exclusive;
+    }
+}
@@ -0,0 +1,268 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 均匀网格空间哈希：每 tick 用计数排序重建，同格实体在数组中连续存放
+// 格子坐标哈希到固定大小的桶表，哈希冲突只会带来多余候选，由距离判断过滤
+public class SpatialGrid {
+    public interface NeighborVisitor {
+        void visit(int id, float dx, float dy, float distanceSquared);
+    }
+
+    public interface PairVisitor {
+        void visit(int idA, int idB, float dx, float dy, float distanceSquared);
+    }
+
+    // 查询时记录已访问桶的暂存区；并行遍历时每个任务各持一份
+    public static final class Scratch {
+        private int[] visited = new int[9];
+
+        int[] visited(int required) {
+            if (visited.length < required) {
+                visited = new int[Math.max(required, visited.length * 2)];
+            }
+            return visited;
+        }
+    }
+
+    private final float cellSize;
+    private final float inverseCellSize;
+    private int bucketMask;
+    private int[] bucketStart;
+    private int[] entryBucket;
+    private float[] sortedX;
+    private float[] sortedY;
+    private int[] sortedIds;
+    private int count;
+    // 网格自带的暂存区与收集器，不带 Scratch 参数的查询共用它们，因此不可并发调用
+    private final Scratch scratch = new Scratch();
+    private final RadiusCollector radiusCollector = new RadiusCollector();
+    private final NearestCollector nearestCollector = new NearestCollector();
+
+    public SpatialGrid(float cellSize) {
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0f / cellSize;
+        this.bucketMask = 63;
+        this.bucketStart = new int[65];
+        this.entryBucket = new int[64];
+        this.sortedX = new float[64];
+        this.sortedY = new float[64];
+        this.sortedIds = new int[64];
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // ids[i] 为调用方自定义的实体编号（如列表下标），查询结果原样返回
+    public void build(int count, float[] xs, float[] ys, int[] ids) {
+        this.count = count;
+        ensureCapacity(count);
+
+        Arrays.fill(bucketStart, 0, bucketMask + 2, 0);
+        for (int i = 0; i < count; i++) {
+            int bucket = bucketOf(cellOf(xs[i]), cellOf(ys[i]));
+            entryBucket[i] = bucket;
+            bucketStart[bucket + 1]++;
+        }
+        for (int b = 0; b <= bucketMask; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        // 第二遍按桶写入；借用 bucketStart[b] 作写指针，结束后整体右移一位恢复
+        for (int i = 0; i < count; i++) {
+            int slot = bucketStart[entryBucket[i]]++;
+            sortedX[slot] = xs[i];
+            sortedY[slot] = ys[i];
+            sortedIds[slot] = ids[i];
+        }
+        System.arraycopy(bucketStart, 0, bucketStart, 1, bucketMask + 1);
+        bucketStart[0] = 0;
+    }
+
+    public void clear() {
+        count = 0;
+        Arrays.fill(bucketStart, 0);
+    }
+
+    public void forEachInRadius(float x, float y, float radius, NeighborVisitor visitor) {
+        if (count == 0) return;
+        float radiusSq = radius * radius;
+        int minCx = cellOf(x - radius), maxCx = cellOf(x + radius);
+        int minCy = cellOf(y - radius), maxCy = cellOf(y + radius);
+        // 查询范围覆盖的格子数超过桶数时直接扫描全部桶，避免同一桶重复访问
+        if ((long) (maxCx - minCx + 1) * (maxCy - minCy + 1) > bucketMask + 1) {
+            scanBucketRange(0, count, x, y, radiusSq, visitor);
+            return;
+        }
+        int[] visited = scratch.visited((maxCx - minCx + 1) * (maxCy - minCy + 1));
+        int visitedCount = 0;
+        for (int cy = minCy; cy <= maxCy; cy++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                int bucket = bucketOf(cx, cy);
+                if (contains(visited, visitedCount, bucket)) continue;
+                visited[visitedCount++] = bucket;
+                scanBucketRange(bucketStart[bucket], bucketStart[bucket + 1], x, y, radiusSq, visitor);
+            }
+        }
+    }
+
+    public int queryRadius(float x, float y, float radius, int[] out) {
+        RadiusCollector collector = radiusCollector;
+        collector.out = out;
+        collector.found = 0;
+        forEachInRadius(x, y, radius, collector);
+        collector.out = null;
+        return Math.min(collector.found, out.length);
+    }
+
+    // 返回半径 maxRadius 内最近的至多 k 个实体，按距离升序写入 out
+    public int kNearest(float x, float y, int k, float maxRadius, int[] out) {
+        int limit = Math.min(k, out.length);
+        if (limit <= 0) return 0;
+        NearestCollector collector = nearestCollector;
+        if (collector.bestDist.length < limit) {
+            collector.bestDist = new float[limit];
+        }
+        collector.out = out;
+        collector.limit = limit;
+        collector.found = 0;
+        forEachInRadius(x, y, maxRadius, collector);
+        collector.out = null;
+        return collector.found;
+    }
+
+    // 遍历距离小于 radius 的所有无序实体对，每对恰好访问一次（idA 所在行先于 idB）
+    public void forEachPair(float radius, PairVisitor visitor) {
+        forEachPair(radius, 0, count, visitor);
+    }
+
+    public void forEachPair(float radius, int fromRow, int toRow, PairVisitor visitor) {
+        forEachPair(radius, fromRow, toRow, scratch, visitor);
+    }
+
+    // 只处理 idA 位于 [fromRow, toRow) 的实体对；行按格子排序，连续行区间即一组相邻格子，
+    // 不同区间可并行遍历且互不重复，并行时每个区间需传入各自的 scratch
+    public void forEachPair(float radius, int fromRow, int toRow, Scratch scratch, PairVisitor visitor) {
+        if (count == 0) return;
+        toRow = Math.min(toRow, count);
+        float radiusSq = radius * radius;
+        int reach = Math.max(1, (int) Math.ceil(radius * inverseCellSize));
+        int side = 2 * reach + 1;
+        if ((long) side * side > bucketMask + 1) {
+            for (int i = fromRow; i < toRow; i++) {
+                for (int j = i + 1; j < count; j++) {
+                    visitIfClose(i, j, radiusSq, visitor);
+                }
+            }
+            return;
+        }
+        int[] visited = scratch.visited(side * side);
+        for (int i = fromRow; i < toRow; i++) {
+            int cx = cellOf(sortedX[i]);
+            int cy = cellOf(sortedY[i]);
+            int visitedCount = 0;
+            for (int oy = -reach; oy <= reach; oy++) {
+                for (int ox = -reach; ox <= reach; ox++) {
+                    int bucket = bucketOf(cx + ox, cy + oy);
+                    if (contains(visited, visitedCount, bucket)) continue;
+                    visited[visitedCount++] = bucket;
+                    int end = bucketStart[bucket + 1];
+                    for (int j = Math.max(bucketStart[bucket], i + 1); j < end; j++) {
+                        visitIfClose(i, j, radiusSq, visitor);
+                    }
+                }
+            }
+        }
+    }
+
+    private void visitIfClose(int i, int j, float radiusSq, PairVisitor visitor) {
+        float dx = sortedX[i] - sortedX[j];
+        float dy = sortedY[i] - sortedY[j];
+        float d2 = dx * dx + dy * dy;
+        if (d2 < radiusSq) {
+            visitor.visit(sortedIds[i], sortedIds[j], dx, dy, d2);
+        }
+    }
+
+    private void scanBucketRange(int start, int end, float x, float y, float radiusSq, NeighborVisitor visitor) {
+        for (int i = start; i < end; i++) {
+            float dx = x - sortedX[i];
+            float dy = y - sortedY[i];
+            float d2 = dx * dx + dy * dy;
+            if (d2 < radiusSq) {
+                visitor.visit(sortedIds[i], dx, dy, d2);
+            }
+        }
+    }
+
+    private static final class RadiusCollector implements NeighborVisitor {
+        int[] out;
+        int found;
+
+        @Override
+        public void visit(int id, float dx, float dy, float distanceSquared) {
+            if (found < out.length) out[found] = id;
+            found++;
+        }
+    }
+
+    // 插入排序维护当前最近的 limit 个结果
+    private static final class NearestCollector implements NeighborVisitor {
+        float[] bestDist = new float[8];
+        int[] out;
+        int limit;
+        int found;
+
+        @Override
+        public void visit(int id, float dx, float dy, float distanceSquared) {
+            int n = found;
+            if (n == limit && distanceSquared >= bestDist[n - 1]) return;
+            int pos = n < limit ? n : limit - 1;
+            while (pos > 0 && bestDist[pos - 1] > distanceSquared) {
+                bestDist[pos] = bestDist[pos - 1];
+                out[pos] = out[pos - 1];
+                pos--;
+            }
+            bestDist[pos] = distanceSquared;
+            out[pos] = id;
+            if (n < limit) found++;
+        }
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    private int cellOf(float v) {
+        return (int) Math.floor(v * inverseCellSize);
+    }
+
+    private int bucketOf(int cx, int cy) {
+        int h = cx * 0x8da6b343 ^ cy * 0xd8163841;
+        return (h ^ (h >>> 16)) & bucketMask;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > sortedIds.length) {
+            int capacity = Math.max(required, sortedIds.length * 2);
+            entryBucket = new int[capacity];
+            sortedX = new float[capacity];
+            sortedY = new float[capacity];
+            sortedIds = new int[capacity];
+        }
+        // 桶数保持为实体数的 2 倍以上（2 的幂）
+        int buckets = bucketMask + 1;
+        if (buckets < required * 2) {
+            while (buckets < required * 2) buckets <<= 1;
+            bucketMask = buckets - 1;
+            bucketStart = new int[buckets + 1];
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.gameengine.core;
+
+// 确定性模式下每个 tick 结束后回调，用于回放比对或锁步校验
+public interface StateHashListener {
+    void onStateHash(long tick, long hash);
+}
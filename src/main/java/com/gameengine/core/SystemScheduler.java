@@ -0,0 +1,184 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// 按读写声明构建依赖图：冲突的系统按注册顺序先后执行，不冲突的系统在 JobSystem 上并行
+public class SystemScheduler {
+    // 依赖已在调用线程完成（如被独占系统汇合）时占位，保持依赖数组长度不变
+    private static final JobHandle DONE = new JobHandle(CompletableFuture.completedFuture(null));
+
+    private final JobSystem jobs;
+    private final List<EngineSystem> systems;
+    private int[][] dependencies;
+    private long[] lastNanos;
+    private double[] averageNanos;
+    private JobHandle[] handles;
+    private JobHandle[][] depHandles;
+    private Runnable[] tasks;
+    private float frameDelta;
+    private int version;
+
+    public SystemScheduler() {
+        this.jobs = JobSystem.getInstance();
+        this.systems = new ArrayList<>();
+        this.dependencies = new int[0][];
+        this.lastNanos = new long[0];
+        this.averageNanos = new double[0];
+        this.handles = new JobHandle[0];
+        this.depHandles = new JobHandle[0][];
+        this.tasks = new Runnable[0];
+    }
+
+    public void addSystem(EngineSystem system) {
+        systems.add(system);
+        rebuild();
+    }
+
+    public boolean removeSystem(EngineSystem system) {
+        boolean removed = systems.remove(system);
+        if (removed) rebuild();
+        return removed;
+    }
+
+    public void clear() {
+        systems.clear();
+        rebuild();
+    }
+
+    public List<EngineSystem> getSystems() {
+        return Collections.unmodifiableList(systems);
+    }
+
+    public int[] getDependencies(int index) {
+        return dependencies[index].clone();
+    }
+
+    private void rebuild() {
+        version++;
+        int n = systems.size();
+        BitSet[] reads = new BitSet[n];
+        BitSet[] writes = new BitSet[n];
+        for (int i = 0; i < n; i++) {
+            reads[i] = toBits(systems.get(i).getReads());
+            writes[i] = toBits(systems.get(i).getWrites());
+        }
+        dependencies = new int[n][];
+        for (int i = 0; i < n; i++) {
+            List<Integer> deps = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                if (conflicts(systems.get(i), systems.get(j), reads[i], writes[i], reads[j], writes[j])) {
+                    deps.add(j);
+                }
+            }
+            dependencies[i] = new int[deps.size()];
+            for (int k = 0; k < deps.size(); k++) {
+                dependencies[i][k] = deps.get(k);
+            }
+        }
+        lastNanos = new long[n];
+        averageNanos = new double[n];
+        handles = new JobHandle[n];
+        // 依赖句柄数组与任务对象随系统列表重建，update 中不再分配
+        depHandles = new JobHandle[n][];
+        tasks = new Runnable[n];
+        for (int i = 0; i < n; i++) {
+            depHandles[i] = new JobHandle[dependencies[i].length];
+            tasks[i] = new SystemTask(i, systems.get(i));
+        }
+    }
+
+    private static BitSet toBits(Class<?>[] types) {
+        BitSet bits = new BitSet();
+        for (Class<?> type : types) {
+            bits.set(ComponentRegistry.idOf(type));
+        }
+        return bits;
+    }
+
+    private static boolean conflicts(EngineSystem a, EngineSystem b, BitSet readsA, BitSet writesA, BitSet readsB, BitSet writesB) {
+        if (a.isExclusive() || b.isExclusive()) return true;
+        return writesA.intersects(writesB) || writesA.intersects(readsB) || readsA.intersects(writesB);
+    }
+
+    public void update(float deltaTime) {
+        int startVersion = version;
+        frameDelta = deltaTime;
+        int n = systems.size();
+        for (int i = 0; i < n; i++) {
+            EngineSystem system = systems.get(i);
+            if (system.isExclusive()) {
+                completeScheduled(i);
+                run(i, system, deltaTime);
+                // 独占系统可能切换场景并重建系统列表，此时放弃本帧剩余系统
+                if (version != startVersion) return;
+                continue;
+            }
+            int[] deps = dependencies[i];
+            JobHandle[] depArray = depHandles[i];
+            for (int k = 0; k < deps.length; k++) {
+                JobHandle handle = handles[deps[k]];
+                depArray[k] = handle != null ? handle : DONE;
+            }
+            handles[i] = jobs.schedule(tasks[i], depArray);
+        }
+        completeScheduled(n);
+    }
+
+    private void completeScheduled(int upTo) {
+        for (int i = 0; i < upTo; i++) {
+            if (handles[i] != null) {
+                handles[i].complete();
+                handles[i] = null;
+            }
+        }
+    }
+
+    private final class SystemTask implements Runnable {
+        private final int index;
+        private final EngineSystem system;
+
+        SystemTask(int index, EngineSystem system) {
+            this.index = index;
+            this.system = system;
+        }
+
+        @Override
+        public void run() {
+            // frameDelta 在调度前写入，调度本身保证对任务线程可见
+            SystemScheduler.this.run(index, system, frameDelta);
+        }
+    }
+
+    private void run(int index, EngineSystem system, float deltaTime) {
+        // 先取出计时数组：系统执行中可能切换场景并重建调度器
+        long[] last = lastNanos;
+        double[] average = averageNanos;
+        long start = System.nanoTime();
+        system.update(deltaTime);
+        long elapsed = System.nanoTime() - start;
+        last[index] = elapsed;
+        average[index] = average[index] == 0 ? elapsed : average[index] * 0.95 + elapsed * 0.05;
+    }
+
+    public double getLastMillis(int index) {
+        return lastNanos[index] / 1_000_000.0;
+    }
+
+    public double getAverageMillis(int index) {
+        return averageNanos[index] / 1_000_000.0;
+    }
+
+    public String getTimingReport() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < systems.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(systems.get(i).getName())
+              .append('=').append(String.format("%.3f", getAverageMillis(i))).append("ms");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.gameengine.core;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// 与标量内核逐元素等价：同样的乘加顺序（不使用 FMA），分支改为掩码混合
+// 编译与运行均需 --add-modules jdk.incubator.vector，仅由 IntegrationKernel.select 反射加载
+public class VectorIntegrationKernel implements IntegrationKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    
+    private final ScalarIntegrationKernel tail = new ScalarIntegrationKernel();
+    
+    @Override
+    public String getName() {
+        return "vector-" + SPECIES.length() + "x" + Float.SIZE;
+    }
+    
+    @Override
+    public void integrate(Archetype archetype, int start, int end, float deltaTime, float maxX, float maxY,
+                          float sleepSpeedSquared, float sleepTicks) {
+        float[] posX = archetype.posX;
+        float[] posY = archetype.posY;
+        float[] velX = archetype.velX;
+        float[] velY = archetype.velY;
+        float[] accX = archetype.accX;
+        float[] accY = archetype.accY;
+        float[] gravX = archetype.gravX;
+        float[] gravY = archetype.gravY;
+        float[] friction = archetype.friction;
+        boolean[] simulated = archetype.simulated;
+        float[] idleTicks = archetype.idleTicks;
+        
+        FloatVector zero = FloatVector.zero(SPECIES);
+        FloatVector upperX = FloatVector.broadcast(SPECIES, maxX);
+        FloatVector upperY = FloatVector.broadcast(SPECIES, maxY);
+        FloatVector asleep = FloatVector.broadcast(SPECIES, -1f);
+        int lanes = SPECIES.length();
+        int bound = start + SPECIES.loopBound(end - start);
+        
+        int i = start;
+        for (; i < bound; i += lanes) {
+            FloatVector idle = FloatVector.fromArray(SPECIES, idleTicks, i);
+            VectorMask<Float> active = VectorMask.fromArray(SPECIES, simulated, i).and(idle.compare(VectorOperators.GE, 0f));
+            if (!active.anyTrue()) continue;
+            
+            FloatVector fr = FloatVector.fromArray(SPECIES, friction, i);
+            FloatVector ax = FloatVector.fromArray(SPECIES, accX, i).add(FloatVector.fromArray(SPECIES, gravX, i));
+            FloatVector ay = FloatVector.fromArray(SPECIES, accY, i).add(FloatVector.fromArray(SPECIES, gravY, i));
+            FloatVector vx = FloatVector.fromArray(SPECIES, velX, i).add(ax.mul(deltaTime)).mul(fr);
+            FloatVector vy = FloatVector.fromArray(SPECIES, velY, i).add(ay.mul(deltaTime)).mul(fr);
+            FloatVector x = FloatVector.fromArray(SPECIES, posX, i).add(vx.mul(deltaTime));
+            FloatVector y = FloatVector.fromArray(SPECIES, posY, i).add(vy.mul(deltaTime));
+            
+            vx = vx.blend(vx.neg(), x.compare(VectorOperators.LE, 0f).or(x.compare(VectorOperators.GE, maxX)));
+            vy = vy.blend(vy.neg(), y.compare(VectorOperators.LE, 0f).or(y.compare(VectorOperators.GE, maxY)));
+            // 用比较混合而非 max/min 钳制，保持 -0.0 等边界值与标量路径一致
+            x = x.blend(zero, x.compare(VectorOperators.LT, 0f));
+            y = y.blend(zero, y.compare(VectorOperators.LT, 0f));
+            x = x.blend(upperX, x.compare(VectorOperators.GT, maxX));
+            y = y.blend(upperY, y.compare(VectorOperators.GT, maxY));
+            
+            VectorMask<Float> still = vx.mul(vx).add(vy.mul(vy)).compare(VectorOperators.LT, sleepSpeedSquared)
+                .and(ax.compare(VectorOperators.EQ, 0f)).and(ay.compare(VectorOperators.EQ, 0f));
+            idle = idle.add(1f).blend(zero, still.not());
+            VectorMask<Float> sleeps = idle.compare(VectorOperators.GE, sleepTicks);
+            idle = idle.blend(asleep, sleeps);
+            vx = vx.blend(zero, sleeps);
+            vy = vy.blend(zero, sleeps);
+            
+            x.intoArray(posX, i, active);
+            y.intoArray(posY, i, active);
+            vx.intoArray(velX, i, active);
+            vy.intoArray(velY, i, active);
+            zero.intoArray(accX, i, active);
+            zero.intoArray(accY, i, active);
+            idle.intoArray(idleTicks, i, active);
+        }
+        
+        if (i < end) {
+            tail.integrate(archetype, i, end, deltaTime, maxX, maxY, sleepSpeedSquared, sleepTicks);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.gameengine.example;
+
+import com.gameengine.core.GameEngine;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.graphics.RenderBackend;
+import com.gameengine.net.NioServer;
+
+// 专用服务器：无窗口运行权威 GameScene，仅承担模拟与网络广播
+public class DedicatedServer {
+    public static void main(String[] args) {
+        int port = args != null && args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        float tickRate = args != null && args.length > 1 ? Float.parseFloat(args[1]) : 60.0f;
+        // 可选第三个参数为种子：以确定性模式运行，便于复现性能测试
+        Long seed = args != null && args.length > 2 ? Long.parseLong(args[2]) : null;
+
+        NioServer server = new NioServer(port);
+        server.start();
+        GameEngine engine = new GameEngine(1024, 768, "DedicatedServer", RenderBackend.HEADLESS);
+        engine.setFixedTimestep(true);
+        engine.setTickRate(tickRate);
+        engine.setTargetFPS(tickRate);
+        if (seed != null) {
+            engine.setDeterministic(true, seed);
+            engine.setStateHashListener((tick, hash) -> {
+                if (tick % 600 == 0) {
+                    System.out.println("[Server] tick " + tick + " state " + Long.toHexString(hash));
+                }
+            });
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(engine::stop, "server-shutdown"));
+        System.out.println("[Server] Listening on " + port + ", tick rate " + tickRate);
+        System.out.println("[Server] Physics kernel: " + PhysicsSystem.getKernel().getName());
+
+        try {
+            GameScene gameScene = new GameScene(engine, GameScene.Mode.SERVER);
+            gameScene.setAutoRestartDelay(3.0f);
+            engine.setScene(gameScene);
+            engine.run();
+        } finally {
+            server.stop();
+            engine.cleanup();
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.gameengine.example;
 
+import com.gameengine.components.AIComponent;
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameLogic;
 import com.gameengine.core.GameObject;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
@@ -16,7 +20,10 @@ public final class EntityFactory {
             public void update(float dt) {
                 super.update(dt);
                 TransformComponent tc = getComponent(TransformComponent.class);
-                if (tc != null) basePosition = tc.getPosition();
+                if (tc != null) {
+                    if (basePosition == null) basePosition = new Vector2();
+                    tc.getPosition(basePosition);
+                }
             }
             @Override
             public void render() {
@@ -40,6 +47,34 @@ public final class EntityFactory {
         rc.setRenderer(renderer);
         return obj;
     }
-}
 
+    // AI 玩家预制体，供 GameObjectPool 创建新实例；位置与速度由调用方在取出后设置
+    public static GameObject createAIPlayer(IRenderer renderer) {
+        GameObject aiPlayer = new GameObject("AIPlayer", GameLogic.AI_PLAYER_TAG) {
+            @Override
+            public void update(float deltaTime) {
+                super.update(deltaTime);
+                updateComponents(deltaTime);
+            }
 
+            @Override
+            public void render() {
+                renderComponents();
+            }
+        };
+        aiPlayer.addComponent(new TransformComponent(new Vector2(0, 0)));
+        RenderComponent rc = aiPlayer.addComponent(new RenderComponent(
+            RenderComponent.RenderType.RECTANGLE,
+            new Vector2(20, 20),
+            new RenderComponent.Color(0.0f, 0.8f, 1.0f, 1.0f)
+        ));
+        rc.setRenderer(renderer);
+        PhysicsComponent physics = aiPlayer.addComponent(new PhysicsComponent(0.5f));
+        physics.setFriction(0.98f);
+        ColliderComponent collider = aiPlayer.addComponent(new ColliderComponent(GameLogic.COLLIDER_RADIUS));
+        collider.setLayer(GameLogic.AI_LAYER);
+        collider.setMask(GameLogic.PLAYER_LAYER);
+        aiPlayer.addComponent(new AIComponent());
+        return aiPlayer;
+    }
+}
@@ -11,6 +11,13 @@ public class Game {
         GameEngine engine = null;
         try {
             engine = new GameEngine(1024, 768, "游戏引擎", RenderBackend.GPU);
+            // Server 以固定 tick 推进模拟，渲染按插值平滑
+            engine.setFixedTimestep(true);
+            engine.setTickRate(60.0f);
+            // --pipelined：模拟与渲染分线程，渲染线程绘制上一 tick 的快照
+            if (args != null && java.util.Arrays.asList(args).contains("--pipelined")) {
+                engine.setPipelined(true);
+            }
             // Server 直接进入 GameScene
             GameScene gameScene = new GameScene(engine);
             engine.setScene(gameScene);
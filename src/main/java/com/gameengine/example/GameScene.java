@@ -1,12 +1,16 @@
 package com.gameengine.example;
 
+import com.gameengine.components.ColliderComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.core.GameEngine;
 import com.gameengine.core.GameLogic;
 import com.gameengine.core.GameObject;
-import com.gameengine.core.ParticleSystem;
+import com.gameengine.core.GameObjectPool;
+import com.gameengine.core.ParticleManager;
+import com.gameengine.core.RandomStreams;
+import com.gameengine.core.SystemScheduler;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
@@ -21,16 +25,32 @@ public class GameScene extends Scene {
     private Random random;
     private float time;
     private GameLogic gameLogic;
-    private ParticleSystem playerParticles;
-    private List<ParticleSystem> collisionParticles;
-    private Map<GameObject, ParticleSystem> aiPlayerParticles;
-    private Map<GameObject, ParticleSystem> mirrorParticles;
+    private GameObjectPool aiPlayerPool;
+    // 场上 AI 上限，0 表示不限（默认：AI 每秒累加）；设置后每生成一个新 AI 就停用最早生成的一个，由场景回收进对象池
+    private int maxAIPlayers = 0;
+    private final ArrayDeque<GameObject> liveAIPlayers = new ArrayDeque<>();
+    // 场景内所有粒子共享一个池；玩家、AI 与镜像的发射器跟随对象移动，对象移除后自动销毁
+    // 默认预算高于并行积分阈值，大规模爆发时才能走到并行路径
+    private static final int DEFAULT_PARTICLE_BUDGET = 16384;
+    private int particleBudget = DEFAULT_PARTICLE_BUDGET;
+    // 0 表示沿用 ParticleManager 的默认阈值，运行中由其按实测耗时自动调整
+    private int particleParallelThreshold = 0;
+    private static final int TRAIL_PRIORITY = 1;
+    private static final int PLAYER_PRIORITY = 2;
+    private static final int EXPLOSION_PRIORITY = 3;
+    private ParticleManager particles;
     private boolean waitingReturn;
     private float waitInputTimer;
     private float freezeTimer;
     private final float inputCooldown = 0.25f;
     private final float freezeDelay = 0.20f;
     private boolean networkPlayerSpawned = false;
+    private boolean gameOverHandled = false;
+    private int nextNetworkId = 0;
+    // CLIENT: 按网络 id 记录镜像对象，快照中不再出现的镜像会被移除
+    private final Map<String, GameObject> mirrors = new HashMap<>();
+    // 大于 0 时游戏结束后按该延迟自动重开（无输入的专用服务器使用）
+    private float autoRestartDelay = 0f;
 
     public GameScene(GameEngine engine) { this(engine, Mode.SERVER); }
 
@@ -44,10 +64,18 @@ public class GameScene extends Scene {
     public void initialize() {
         super.initialize();
         this.renderer = engine.getRenderer();
-        this.random = new Random();
+        RandomStreams streams = engine.getRandomStreams();
+        this.random = streams.stream("GameScene");
+        this.particles = new ParticleManager(renderer, particleBudget, streams.stream("Particles").nextLong());
+        if (particleParallelThreshold > 0) {
+            particles.setParallelThreshold(particleParallelThreshold);
+        }
         this.time = 0;
-        this.gameLogic = new GameLogic(this);
+        this.gameLogic = new GameLogic(this, streams.stream("GameLogic"));
         this.gameLogic.setGameEngine(engine);
+        // 复用的对象需重新分配网络 id，客户端据此移除旧镜像、创建新镜像
+        this.aiPlayerPool = new GameObjectPool("AIPlayer", () -> EntityFactory.createAIPlayer(renderer),
+            obj -> obj.setNetworkId(null), 128);
         this.waitingReturn = false;
         this.waitInputTimer = 0f;
         this.freezeTimer = 0f;
@@ -65,14 +93,6 @@ public class GameScene extends Scene {
             createNetworkPlayer();
             networkPlayerSpawned = true;
         }
-
-        collisionParticles = new ArrayList<>();
-        aiPlayerParticles = new HashMap<>();
-        mirrorParticles = new HashMap<>();
-
-        playerParticles = new ParticleSystem(renderer, new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f));
-        playerParticles.setActive(true);
-        
     }
 
     @Override
@@ -87,40 +107,24 @@ public class GameScene extends Scene {
                 float[] xy = e.getValue();
                 GameObject obj = findOrCreateMirror(id);
                 TransformComponent tc = obj.getComponent(TransformComponent.class);
-                if (tc != null) tc.setPosition(new Vector2(xy[0], xy[1]));
-
-                // 为镜像对象维护轻量粒子
-                ParticleSystem ps = mirrorParticles.get(obj);
-                if (ps == null) {
-                    ps = new ParticleSystem(renderer, tc != null ? tc.getPosition() : new Vector2(0,0), ParticleSystem.Config.light());
-                    ps.setActive(true);
-                    mirrorParticles.put(obj, ps);
-                } else {
-                    if (tc != null) ps.setPosition(tc.getPosition());
-                }
-                ps.update(deltaTime);
+                if (tc != null) tc.setXY(xy[0], xy[1]);
+            }
+            // 尚未收到关键帧时快照为空，不据此清空镜像
+            if (!snap.isEmpty()) {
+                pruneMirrors(snap);
             }
         }
 
         super.update(deltaTime);
 
-        if (mode == Mode.SERVER) {
-            gameLogic.handlePlayerInput(deltaTime);
-            gameLogic.handleAIPlayerMovement(deltaTime);
-            gameLogic.handleAIPlayerAvoidance(deltaTime);
-        }
-
-        boolean wasGameOver = gameLogic.isGameOver();
-        if (mode == Mode.SERVER) {
-            gameLogic.checkCollisions();
-        }
-
-        if (gameLogic.isGameOver() && !wasGameOver) {
+        // 输入、AI 与碰撞检测由 SystemScheduler 调度，这里只响应上一 tick 的结果
+        if (gameLogic.isGameOver() && !gameOverHandled) {
+            gameOverHandled = true;
             GameObject player = gameLogic.getUserPlayer();
             if (player != null) {
                 TransformComponent transform = player.getComponent(TransformComponent.class);
                 if (transform != null) {
-                    ParticleSystem.Config cfg = new ParticleSystem.Config();
+                    ParticleManager.Config cfg = new ParticleManager.Config();
                     cfg.initialCount = 0;
                     cfg.spawnRate = 9999f;
                     cfg.opacityMultiplier = 1.0f;
@@ -135,9 +139,9 @@ public class GameScene extends Scene {
                     cfg.burstGMin = 0.0f;
                     cfg.burstGMax = 0.05f;
                     cfg.burstB = 0.0f;
-                    ParticleSystem explosion = new ParticleSystem(renderer, transform.getPosition(), cfg);
-                    explosion.burst(180);
-                    collisionParticles.add(explosion);
+                    int explosion = particles.createEmitter(cfg, transform.getX(), transform.getY(), EXPLOSION_PRIORITY);
+                    particles.burst(explosion, 180);
+                    particles.destroyEmitter(explosion);
                     waitingReturn = true;
                     waitInputTimer = 0f;
                     freezeTimer = 0f;
@@ -158,6 +162,16 @@ public class GameScene extends Scene {
             return;
         }
 
+        if (waitingReturn && autoRestartDelay > 0 && waitInputTimer >= autoRestartDelay) {
+            GameScene next = new GameScene(engine, mode);
+            next.setAutoRestartDelay(autoRestartDelay);
+            next.setMaxAIPlayers(maxAIPlayers);
+            next.setParticleBudget(particleBudget);
+            next.setParticleParallelThreshold(particleParallelThreshold);
+            engine.setScene(next);
+            return;
+        }
+
         if (mode == Mode.SERVER && !gameLogic.isGameOver() && time >= 1.0f) {
             if (!networkPlayerSpawned && com.gameengine.net.NetState.hasClient()) {
                 createNetworkPlayer();
@@ -173,18 +187,22 @@ public class GameScene extends Scene {
             js.append('{').append("\"type\":\"kf\",")
               .append("\"t\":").append(System.currentTimeMillis()/1000.0).append(',')
               .append("\"entities\":[");
-            boolean first = true; int idx = 0;
-            for (GameObject obj : getGameObjects()) {
+            boolean first = true;
+            for (int i = 0, n = getGameObjectCount(); i < n; i++) {
+                GameObject obj = getGameObject(i);
                 TransformComponent tc = obj.getComponent(TransformComponent.class);
                 if (tc == null) continue;
-                Vector2 p = tc.getPosition();
                 if (!first) js.append(',');
-                String id = obj.getName();
-                if (!id.contains("#")) id = id + "#" + (idx++);
+                String id = obj.getNetworkId();
+                if (id == null) {
+                    id = obj.getName();
+                    if (!id.contains("#")) id = id + "#" + (nextNetworkId++);
+                    obj.setNetworkId(id);
+                }
                 js.append('{')
                   .append("\"id\":\"").append(id).append("\",")
-                  .append("\"x\":").append((int)p.x).append(',')
-                  .append("\"y\":").append((int)p.y)
+                  .append("\"x\":").append((int)tc.getX()).append(',')
+                  .append("\"y\":").append((int)tc.getY())
                   .append('}');
                 first = false;
             }
@@ -197,60 +215,8 @@ public class GameScene extends Scene {
 
     private void updateParticles(float deltaTime) {
         boolean freeze = waitingReturn && freezeTimer >= freezeDelay;
-
-        if (playerParticles != null && !freeze) {
-            GameObject player = gameLogic.getUserPlayer();
-            if (player != null) {
-                TransformComponent transform = player.getComponent(TransformComponent.class);
-                if (transform != null) {
-                    Vector2 playerPos = transform.getPosition();
-                    playerParticles.setPosition(playerPos);
-                }
-            }
-            playerParticles.update(deltaTime);
-        }
-
-        List<GameObject> aiPlayers = gameLogic.getAIPlayers();
         if (!freeze) {
-            for (GameObject aiPlayer : aiPlayers) {
-                if (aiPlayer != null && aiPlayer.isActive()) {
-                    ParticleSystem particles = aiPlayerParticles.get(aiPlayer);
-                    if (particles == null) {
-                        TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
-                        if (transform != null) {
-                            particles = new ParticleSystem(renderer, transform.getPosition(), ParticleSystem.Config.light());
-                            particles.setActive(true);
-                            aiPlayerParticles.put(aiPlayer, particles);
-                        }
-                    }
-                    if (particles != null) {
-                        TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
-                        if (transform != null) {
-                            particles.setPosition(transform.getPosition());
-                        }
-                        particles.update(deltaTime);
-                    }
-                }
-            }
-        }
-
-        List<GameObject> toRemove = new ArrayList<>();
-        for (Map.Entry<GameObject, ParticleSystem> entry : aiPlayerParticles.entrySet()) {
-            if (!entry.getKey().isActive() || !aiPlayers.contains(entry.getKey())) {
-                toRemove.add(entry.getKey());
-            }
-        }
-        for (GameObject removed : toRemove) {
-            aiPlayerParticles.remove(removed);
-        }
-
-        for (int i = collisionParticles.size() - 1; i >= 0; i--) {
-            ParticleSystem ps = collisionParticles.get(i);
-            if (ps != null) {
-                if (!freeze) {
-                    ps.update(deltaTime);
-                }
-            }
+            particles.update(deltaTime);
         }
     }
 
@@ -260,7 +226,7 @@ public class GameScene extends Scene {
 
         super.render();
 
-        renderParticles();
+        particles.render();
 
         if (gameLogic.isGameOver()) {
             float cx = renderer.getWidth() / 2.0f;
@@ -272,38 +238,8 @@ public class GameScene extends Scene {
         }
     }
 
-    private void renderParticles() {
-        if (playerParticles != null) {
-            int count = playerParticles.getParticleCount();
-            if (count > 0) {
-                playerParticles.render();
-            }
-        }
-
-        for (ParticleSystem ps : aiPlayerParticles.values()) {
-            if (ps != null && ps.getParticleCount() > 0) {
-                ps.render();
-            }
-        }
-
-        for (ParticleSystem ps : collisionParticles) {
-            if (ps != null && ps.getParticleCount() > 0) {
-                ps.render();
-            }
-        }
-
-        // CLIENT: 渲染镜像对象的粒子
-        if (mirrorParticles != null && !mirrorParticles.isEmpty()) {
-            for (ParticleSystem ps : mirrorParticles.values()) {
-                if (ps != null && ps.getParticleCount() > 0) {
-                    ps.render();
-                }
-            }
-        }
-    }
-
     private void createPlayer() {
-        GameObject player = new GameObject("Player") {
+        GameObject player = new GameObject("Player", GameLogic.PLAYER_TAG) {
             private Vector2 basePosition;
 
             @Override
@@ -315,13 +251,18 @@ public class GameScene extends Scene {
 
             @Override
             public void render() {
+                TransformComponent transform = getComponent(TransformComponent.class);
+                if (transform != null && basePosition != null) {
+                    transform.getInterpolatedPosition(getInterpolationAlpha(), basePosition);
+                }
                 renderBodyParts();
             }
 
             private void updateBodyParts() {
                 TransformComponent transform = getComponent(TransformComponent.class);
                 if (transform != null) {
-                    basePosition = transform.getPosition();
+                    if (basePosition == null) basePosition = new Vector2();
+                    transform.getPosition(basePosition);
                 }
             }
 
@@ -360,7 +301,12 @@ public class GameScene extends Scene {
         PhysicsComponent physics = player.addComponent(new PhysicsComponent(1.0f));
         physics.setFriction(0.95f);
 
+        ColliderComponent collider = player.addComponent(new ColliderComponent(GameLogic.COLLIDER_RADIUS));
+        collider.setLayer(GameLogic.PLAYER_LAYER);
+        collider.setMask(GameLogic.AI_LAYER);
+
         addGameObject(player);
+        particles.createEmitter(ParticleManager.Config.defaultPlayer(), player, PLAYER_PRIORITY);
     }
 
     private void createAIPlayers() {
@@ -370,44 +316,40 @@ public class GameScene extends Scene {
     }
 
     private void createAIPlayer() {
-        GameObject aiPlayer = new GameObject("AIPlayer") {
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                updateComponents(deltaTime);
-            }
-
-            @Override
-            public void render() {
-                renderComponents();
-            }
-        };
+        if (maxAIPlayers > 0) {
+            retireOldestAIPlayers();
+        }
+        GameObject aiPlayer = aiPlayerPool.acquire();
 
-        Vector2 position;
+        float centerX = renderer.getWidth() / 2.0f;
+        float centerY = renderer.getHeight() / 2.0f;
+        float x, y;
         do {
-            position = new Vector2(
-                random.nextFloat() * renderer.getWidth(),
-                random.nextFloat() * renderer.getHeight()
-            );
-        } while (position.distance(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)) < 100);
-
-        aiPlayer.addComponent(new TransformComponent(position));
-        // 使用工厂统一外观
-        RenderComponent rc = aiPlayer.addComponent(new RenderComponent(
-            RenderComponent.RenderType.RECTANGLE,
-            new Vector2(20, 20),
-            new RenderComponent.Color(0.0f, 0.8f, 1.0f, 1.0f)
-        ));
-        rc.setRenderer(renderer);
+            x = random.nextFloat() * renderer.getWidth();
+            y = random.nextFloat() * renderer.getHeight();
+        } while ((x - centerX) * (x - centerX) + (y - centerY) * (y - centerY) < 100 * 100);
 
-        PhysicsComponent physics = aiPlayer.addComponent(new PhysicsComponent(0.5f));
-        physics.setVelocity(new Vector2(
+        aiPlayer.getComponent(TransformComponent.class).setXY(x, y);
+        aiPlayer.getComponent(PhysicsComponent.class).setVelocity(
             (random.nextFloat() - 0.5f) * 150,
             (random.nextFloat() - 0.5f) * 150
-        ));
-        physics.setFriction(0.98f);
+        );
 
         addGameObject(aiPlayer);
+        if (maxAIPlayers > 0) {
+            liveAIPlayers.addLast(aiPlayer);
+        }
+        particles.createEmitter(ParticleManager.Config.light(), aiPlayer, TRAIL_PRIORITY);
+    }
+
+    // 跳过已被其他途径移除的对象，只停用仍在场上的 AI
+    private void retireOldestAIPlayers() {
+        while (liveAIPlayers.size() >= maxAIPlayers) {
+            GameObject oldest = liveAIPlayers.pollFirst();
+            if (oldest.getScene() == this && oldest.isActive()) {
+                oldest.setActive(false);
+            }
+        }
     }
 
     private void createNetworkPlayer() {
@@ -443,9 +385,8 @@ public class GameScene extends Scene {
 
     // CLIENT: 按 id 查找或创建镜像对象
     private GameObject findOrCreateMirror(String id) {
-        for (GameObject o : getGameObjects()) {
-            if (id.equals(o.getName())) return o;
-        }
+        GameObject existing = findGameObjectByNetworkId(id);
+        if (existing != null) return existing;
         String base = id;
         int hash = id.indexOf('#');
         if (hash >= 0) base = id.substring(0, hash);
@@ -473,10 +414,26 @@ public class GameScene extends Scene {
             rc.setRenderer(renderer);
         }
         obj.setName(id);
+        obj.setNetworkId(id);
         addGameObject(obj);
+        mirrors.put(id, obj);
+        // 镜像对象的轻量拖尾
+        particles.createEmitter(ParticleManager.Config.light(), obj, TRAIL_PRIORITY);
         return obj;
     }
 
+    // 经 removeGameObject 移除，跟随该镜像的发射器随之释放
+    private void pruneMirrors(Map<String, float[]> snap) {
+        Iterator<Map.Entry<String, GameObject>> it = mirrors.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, GameObject> e = it.next();
+            if (!snap.containsKey(e.getKey())) {
+                removeGameObject(e.getValue());
+                it.remove();
+            }
+        }
+    }
+
     private void createDecorations() {
         for (int i = 0; i < 5; i++) {
             createDecoration();
@@ -514,19 +471,67 @@ public class GameScene extends Scene {
         addGameObject(decoration);
     }
 
+    @Override
+    public void registerSystems(SystemScheduler scheduler) {
+        if (mode == Mode.SERVER && gameLogic != null) {
+            gameLogic.registerSystems(scheduler);
+        }
+    }
+
+    public void setAutoRestartDelay(float seconds) {
+        this.autoRestartDelay = seconds;
+    }
+
+    // 需在场景初始化前设置，之前生成的 AI 不计入上限
+    public void setMaxAIPlayers(int max) {
+        this.maxAIPlayers = Math.max(0, max);
+        if (maxAIPlayers == 0) {
+            liveAIPlayers.clear();
+        }
+    }
+
+    public int getMaxAIPlayers() {
+        return maxAIPlayers;
+    }
+
+    // 需在场景初始化前设置
+    public void setParticleBudget(int budget) {
+        this.particleBudget = Math.max(1, budget);
+    }
+
+    public int getParticleBudget() {
+        return particleBudget;
+    }
+
+    // 需在场景初始化前设置，0 表示使用默认阈值
+    public void setParticleParallelThreshold(int threshold) {
+        this.particleParallelThreshold = Math.max(0, threshold);
+    }
+
+    public int getParticleParallelThreshold() {
+        return particleParallelThreshold;
+    }
+
+    public ParticleManager getParticles() {
+        return particles;
+    }
+
+    public GameObjectPool getAIPlayerPool() {
+        return aiPlayerPool;
+    }
+
     @Override
     public void clear() {
         if (gameLogic != null) {
             gameLogic.cleanup();
         }
-        if (playerParticles != null) {
-            playerParticles.clear();
+        if (particles != null) {
+            particles.clear();
         }
-        if (collisionParticles != null) {
-            for (ParticleSystem ps : collisionParticles) {
-                if (ps != null) ps.clear();
-            }
-            collisionParticles.clear();
+        mirrors.clear();
+        liveAIPlayers.clear();
+        if (aiPlayerPool != null) {
+            aiPlayerPool.clear();
         }
         super.clear();
     }
@@ -0,0 +1,85 @@
+package com.gameengine.example;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Archetype;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.IntegrationKernel;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.core.ScalarIntegrationKernel;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// 单线程积分内核基准：在同一组实体上分别计时标量内核与当前选中的内核
+// 用法：KernelBenchmark [entities] [iterations]，需以 --add-modules jdk.incubator.vector 启动才会选中向量化内核
+public class KernelBenchmark {
+    private static final float DT = 1f / 60f;
+    private static final float MAX_X = 1024 - 15;
+    private static final float MAX_Y = 768 - 15;
+
+    public static void main(String[] args) {
+        int entities = args != null && args.length > 0 ? Integer.parseInt(args[0]) : 65536;
+        int iterations = args != null && args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        Archetype archetype = populate(entities, 42L);
+        float[][] columns = { archetype.posX, archetype.posY, archetype.velX, archetype.velY, archetype.idleTicks };
+        float[][] initial = new float[columns.length][];
+        for (int c = 0; c < columns.length; c++) {
+            initial[c] = Arrays.copyOf(columns[c], archetype.size());
+        }
+
+        IntegrationKernel scalar = new ScalarIntegrationKernel();
+        IntegrationKernel selected = PhysicsSystem.getKernel();
+        System.out.println("[Bench] entities " + archetype.size() + ", iterations " + iterations
+            + ", selected kernel " + selected.getName());
+
+        double scalarNanos = measure(scalar, archetype, columns, initial, iterations);
+        double selectedNanos = measure(selected, archetype, columns, initial, iterations);
+        System.out.printf("[Bench] %s: %.3f ns/entity%n", scalar.getName(), scalarNanos);
+        System.out.printf("[Bench] %s: %.3f ns/entity (%.2fx)%n", selected.getName(), selectedNanos, scalarNanos / selectedNanos);
+    }
+
+    private static Archetype populate(int entities, long seed) {
+        Scene scene = new Scene("KernelBenchmark");
+        Random random = new Random(seed);
+        for (int i = 0; i < entities; i++) {
+            GameObject obj = new GameObject("Body");
+            obj.addComponent(new TransformComponent(new Vector2(random.nextFloat() * MAX_X, random.nextFloat() * MAX_Y)));
+            PhysicsComponent physics = obj.addComponent(new PhysicsComponent(1.0f));
+            physics.setFriction(0.98f);
+            physics.setVelocity((random.nextFloat() - 0.5f) * 300, (random.nextFloat() - 0.5f) * 300);
+            scene.addGameObject(obj);
+        }
+        scene.update(0f);
+        for (Archetype archetype : scene.getArchetypeStorage().getArchetypes()) {
+            if (archetype.has(Archetype.TRANSFORM | Archetype.PHYSICS) && archetype.size() > 0) {
+                return archetype;
+            }
+        }
+        throw new IllegalStateException("未找到物理实体的 Archetype");
+    }
+
+    // 每轮从相同初始状态开始；休眠阈值设为无穷，保证每行每次都参与积分
+    private static double measure(IntegrationKernel kernel, Archetype archetype, float[][] columns, float[][] initial, int iterations) {
+        int n = archetype.size();
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            for (int c = 0; c < columns.length; c++) {
+                System.arraycopy(initial[c], 0, columns[c], 0, n);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                kernel.integrate(archetype, 0, n, DT, MAX_X, MAX_Y, 0f, Float.POSITIVE_INFINITY);
+            }
+            long elapsed = System.nanoTime() - start;
+            // 首轮用于预热，取其余轮次的最好成绩
+            if (round > 0) {
+                best = Math.min(best, (double) elapsed / ((long) iterations * n));
+            }
+        }
+        return best;
+    }
+}
@@ -202,7 +202,7 @@ public class ReplayScene extends Scene {
             float y = (float)((1.0 - u) * pa.y + u * pb.y);
             GameObject obj = objectList.get(i);
             TransformComponent tc = obj.getComponent(TransformComponent.class);
-            if (tc != null) tc.setPosition(new Vector2(x, y));
+            if (tc != null) tc.setXY(x, y);
         }
     }
 
@@ -0,0 +1,115 @@
+package com.gameengine.example;
+
+import com.gameengine.graphics.IRenderer;
+import com.gameengine.graphics.RecordingCommandSink;
+import com.gameengine.graphics.SpriteBatcher;
+
+import java.nio.FloatBuffer;
+
+// 批处理自检：用记录型命令流代替 GPU，校验几何展开、字形按纹理排序与缓冲满时的分批刷新
+// 用法：SpriteBatcherCheck，任一检查失败时抛出异常并以非零状态退出
+public class SpriteBatcherCheck {
+    private static final float EPSILON = 1e-4f;
+
+    public static void main(String[] args) {
+        checkGeometry();
+        checkGlyphSort();
+        checkOverflow();
+        System.out.println("[BatcherCheck] all checks passed");
+    }
+
+    private static void checkGeometry() {
+        RecordingCommandSink sink = new RecordingCommandSink();
+        SpriteBatcher batcher = new SpriteBatcher(sink, FloatBuffer.allocate(256 * SpriteBatcher.VERTEX_FLOATS));
+
+        batcher.beginFrame();
+        batcher.rect(10, 20, 30, 40, 1, 0, 0, 1);
+        batcher.line(0, 0, 10, 0, 1, 1, 1, 1);
+        batcher.circle(5, 5, 2, 8, 0, 1, 0, 1);
+        batcher.endFrame();
+
+        expect("U36 D0:0+36 F".equals(sink.toString()), "几何命令序列: " + sink);
+        float[] v = sink.getUpload(0);
+        // 矩形两个三角形：(x0,y0) (x1,y0) (x1,y1) / (x0,y0) (x1,y1) (x0,y1)
+        float[][] corners = { {10, 20}, {40, 20}, {40, 60}, {10, 20}, {40, 60}, {10, 60} };
+        for (int i = 0; i < corners.length; i++) {
+            expectVertex(v, i, corners[i][0], corners[i][1], "矩形顶点 " + i);
+            expect(v[i * SpriteBatcher.VERTEX_FLOATS + 4] == 1f, "矩形颜色 " + i);
+        }
+        // 线段展开为宽 2.5 的四边形，沿法线各偏移 1.25
+        float half = batcher.getLineWidth() * 0.5f;
+        for (int i = 6; i < 12; i++) {
+            float y = v[i * SpriteBatcher.VERTEX_FLOATS + 1];
+            expect(Math.abs(Math.abs(y) - half) < EPSILON, "线段顶点 " + i + " y=" + y);
+        }
+        // 圆：每段一个三角形，首顶点为圆心，其余两个位于半径上
+        for (int s = 0; s < 8; s++) {
+            int base = 12 + s * 3;
+            expectVertex(v, base, 5, 5, "圆心 " + s);
+            for (int k = 1; k <= 2; k++) {
+                float dx = v[(base + k) * SpriteBatcher.VERTEX_FLOATS] - 5;
+                float dy = v[(base + k) * SpriteBatcher.VERTEX_FLOATS + 1] - 5;
+                expect(Math.abs(Math.sqrt(dx * dx + dy * dy) - 2) < EPSILON, "圆周顶点 " + s + "/" + k);
+            }
+        }
+        expect(batcher.getDrawCalls() == 1 && batcher.getFlushes() == 1 && batcher.getVertexCount() == 36,
+            "几何统计: " + batcher);
+        System.out.println("[BatcherCheck] geometry ok: " + sink);
+    }
+
+    private static void checkGlyphSort() {
+        RecordingCommandSink sink = new RecordingCommandSink();
+        SpriteBatcher batcher = new SpriteBatcher(sink, FloatBuffer.allocate(256 * SpriteBatcher.VERTEX_FLOATS));
+
+        batcher.beginFrame();
+        batcher.rect(0, 0, 10, 10, 1, 0, 0, 1);
+        batcher.texturedQuad(7, 100, 0, 101, 1, 0, 0, 1, 1, 1, 1, 1, 1);
+        batcher.texturedQuad(3, 200, 0, 201, 1, 0, 0, 1, 1, 1, 1, 1, 1);
+        batcher.texturedQuad(7, 300, 0, 301, 1, 0, 0, 1, 1, 1, 1, 1, 1);
+        batcher.rect(0, 0, 1, 1, 0, 0, 0, 1);
+        batcher.endFrame();
+
+        // 字形在两个矩形之间按纹理分组，同纹理保持提交顺序
+        expect("U30 D0:0+6 D3:6+6 D7:12+12 D0:24+6 F".equals(sink.toString()), "字形命令序列: " + sink);
+        float[] v = sink.getUpload(0);
+        expectVertex(v, 6, 200, 0, "纹理 3 字形");
+        expectVertex(v, 12, 100, 0, "纹理 7 第一个字形");
+        expectVertex(v, 18, 300, 0, "纹理 7 第二个字形");
+        expect(batcher.getDrawCalls() == 4, "字形统计: " + batcher);
+        System.out.println("[BatcherCheck] glyph sort ok: " + sink);
+    }
+
+    private static void checkOverflow() {
+        RecordingCommandSink sink = new RecordingCommandSink();
+        SpriteBatcher batcher = new SpriteBatcher(sink, FloatBuffer.allocate(60 * SpriteBatcher.VERTEX_FLOATS));
+
+        FloatBuffer rects = FloatBuffer.allocate(20 * IRenderer.RECT_FLOATS);
+        for (int i = 0; i < 20; i++) {
+            rects.put(i).put(0).put(1).put(1).put(1).put(1).put(1).put(1);
+        }
+        rects.flip();
+
+        batcher.beginFrame();
+        batcher.rects(rects, 20);
+        batcher.endFrame();
+
+        // 60 个顶点的缓冲容纳 10 个矩形，20 个矩形分两次刷新
+        expect("U60 D0:0+60 F U60 D0:0+60 F".equals(sink.toString()), "溢出命令序列: " + sink);
+        expectVertex(sink.getUpload(1), 0, 10, 0, "第二批首个矩形");
+        expect(rects.position() == 0, "drawRects 不应改变缓冲位置");
+        expect(batcher.getFlushes() == 2 && batcher.getVertexCount() == 120, "溢出统计: " + batcher);
+        System.out.println("[BatcherCheck] overflow split ok: " + sink);
+    }
+
+    private static void expectVertex(float[] vertices, int index, float x, float y, String what) {
+        int base = index * SpriteBatcher.VERTEX_FLOATS;
+        expect(Math.abs(vertices[base] - x) < EPSILON && Math.abs(vertices[base + 1] - y) < EPSILON,
+            what + ": (" + vertices[base] + ", " + vertices[base + 1] + ")");
+    }
+
+    private static void expect(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("批处理自检失败: " + message);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.gameengine.graphics;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+// 一帧的绘制命令快照：预分配的扁平数组，复用时只重置计数，不产生逐帧分配
+public class FrameSnapshot {
+    static final byte RECT = 0;
+    static final byte CIRCLE = 1;
+    static final byte LINE = 2;
+    static final byte TEXT = 3;
+    // 批量矩形：首条记录 p0 为矩形数 n，其后 n 条记录原样存放矩形数据
+    static final byte RECTS = 4;
+
+    // 每条命令固定 8 个 float：几何参数 4 个 + 颜色 4 个
+    private static final int STRIDE = 8;
+
+    private byte[] ops;
+    private float[] data;
+    private String[] texts;
+    private FloatBuffer rectView;
+    private int count;
+    private long tick;
+
+    public FrameSnapshot(int initialCommands) {
+        int capacity = Math.max(16, initialCommands);
+        this.ops = new byte[capacity];
+        this.data = new float[capacity * STRIDE];
+        this.texts = new String[capacity];
+        this.rectView = FloatBuffer.wrap(data);
+        this.count = 0;
+    }
+
+    void reset(long tick) {
+        // 仅清理文本引用，数值数组直接覆盖
+        for (int i = 0; i < count; i++) {
+            texts[i] = null;
+        }
+        this.count = 0;
+        this.tick = tick;
+    }
+
+    void add(byte op, float p0, float p1, float p2, float p3, float r, float g, float b, float a, String text) {
+        ensureCapacity(count + 1);
+        int base = count * STRIDE;
+        ops[count] = op;
+        data[base] = p0;
+        data[base + 1] = p1;
+        data[base + 2] = p2;
+        data[base + 3] = p3;
+        data[base + 4] = r;
+        data[base + 5] = g;
+        data[base + 6] = b;
+        data[base + 7] = a;
+        texts[count] = text;
+        count++;
+    }
+
+    // 矩形步长与命令步长相同，整段直接拷入数据数组
+    void addRects(FloatBuffer rects, int n) {
+        if (n <= 0) return;
+        ensureCapacity(count + 1 + n);
+        add(RECTS, n, 0, 0, 0, 0, 0, 0, 0, null);
+        rects.get(rects.position(), data, count * STRIDE, n * STRIDE);
+        Arrays.fill(ops, count, count + n, RECTS);
+        count += n;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ops.length) return;
+        int capacity = Math.max(ops.length * 2, required);
+        ops = Arrays.copyOf(ops, capacity);
+        data = Arrays.copyOf(data, capacity * STRIDE);
+        texts = Arrays.copyOf(texts, capacity);
+        rectView = FloatBuffer.wrap(data);
+    }
+
+    public void replay(IRenderer target) {
+        for (int i = 0; i < count; i++) {
+            int base = i * STRIDE;
+            float r = data[base + 4], g = data[base + 5], b = data[base + 6], a = data[base + 7];
+            switch (ops[i]) {
+                case RECT:
+                    target.drawRect(data[base], data[base + 1], data[base + 2], data[base + 3], r, g, b, a);
+                    break;
+                case CIRCLE:
+                    target.drawCircle(data[base], data[base + 1], data[base + 2], (int) data[base + 3], r, g, b, a);
+                    break;
+                case LINE:
+                    target.drawLine(data[base], data[base + 1], data[base + 2], data[base + 3], r, g, b, a);
+                    break;
+                case TEXT:
+                    target.drawText(data[base], data[base + 1], texts[i], r, g, b, a);
+                    break;
+                case RECTS: {
+                    int n = (int) data[base];
+                    rectView.position(base + STRIDE);
+                    target.drawRects(rectView, n);
+                    i += n;
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+    }
+
+    public int getCommandCount() {
+        return count;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+}
@@ -0,0 +1,75 @@
+package com.gameengine.graphics;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+import java.nio.FloatBuffer;
+
+// 基于流式 VBO 的命令流：每次上传先孤立旧存储再整批写入，绘制时只在纹理变化时切换状态
+final class GLCommandSink implements RenderCommandSink {
+    private static final int STRIDE = SpriteBatcher.VERTEX_FLOATS * Float.BYTES;
+
+    private final long capacityBytes;
+    private int vbo;
+    private int boundTexture;
+
+    GLCommandSink(int maxVertices) {
+        this.capacityBytes = (long) maxVertices * STRIDE;
+        this.vbo = GL15.glGenBuffers();
+    }
+
+    @Override
+    public void upload(FloatBuffer vertices, int vertexCount) {
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vbo);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, capacityBytes, GL15.GL_STREAM_DRAW);
+        GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0, vertices);
+
+        GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+        GL11.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+        GL11.glEnableClientState(GL11.GL_COLOR_ARRAY);
+        GL11.glVertexPointer(2, GL11.GL_FLOAT, STRIDE, 0L);
+        GL11.glTexCoordPointer(2, GL11.GL_FLOAT, STRIDE, 2L * Float.BYTES);
+        GL11.glColorPointer(4, GL11.GL_FLOAT, STRIDE, 4L * Float.BYTES);
+
+        // 两次刷新之间可能创建了字形纹理，这里不沿用上次的纹理状态
+        GL11.glTexEnvi(GL11.GL_TEXTURE_ENV, GL11.GL_TEXTURE_ENV_MODE, GL11.GL_MODULATE);
+        GL11.glDisable(GL11.GL_TEXTURE_2D);
+        boundTexture = 0;
+    }
+
+    @Override
+    public void draw(int texture, int first, int count) {
+        if (texture != boundTexture) {
+            if (texture == 0) {
+                GL11.glDisable(GL11.GL_TEXTURE_2D);
+            } else {
+                if (boundTexture == 0) {
+                    GL11.glEnable(GL11.GL_TEXTURE_2D);
+                }
+                GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+            }
+            boundTexture = texture;
+        }
+        GL11.glDrawArrays(GL11.GL_TRIANGLES, first, count);
+    }
+
+    @Override
+    public void finish() {
+        GL11.glDisableClientState(GL11.GL_COLOR_ARRAY);
+        GL11.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+        GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        if (boundTexture != 0) {
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+            GL11.glDisable(GL11.GL_TEXTURE_2D);
+            boundTexture = 0;
+        }
+    }
+
+    void dispose() {
+        if (vbo != 0) {
+            GL15.glDeleteBuffers(vbo);
+            vbo = 0;
+        }
+    }
+}
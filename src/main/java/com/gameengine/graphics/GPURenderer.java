@@ -12,6 +12,7 @@ import org.lwjgl.system.MemoryUtil;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import org.lwjgl.BufferUtils;
 import java.util.HashMap;
@@ -28,6 +29,11 @@ public class GPURenderer implements IRenderer {
     private Font font;
     private int fontSize;
     private boolean texturesPreloaded;
+    // 所有几何经批处理器写入堆外流式顶点缓冲，每帧只产生少量绘制调用
+    private static final int BATCH_VERTICES = 96 * 1024;
+    private FloatBuffer batchVertices;
+    private GLCommandSink commandSink;
+    private SpriteBatcher batcher;
     private static final String PRELOAD_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*()_+-=[]{}|;:,.<>?/~` ";
 
     public GPURenderer(int width, int height, String title) {
@@ -103,6 +109,10 @@ public class GPURenderer implements IRenderer {
             
             
             
+            batchVertices = MemoryUtil.memAllocFloat(BATCH_VERTICES * SpriteBatcher.VERTEX_FLOATS);
+            commandSink = new GLCommandSink(BATCH_VERTICES);
+            batcher = new SpriteBatcher(commandSink, batchVertices);
+            
             initialized = true;
             
             int[] maxTex = new int[1];
@@ -163,55 +173,38 @@ public class GPURenderer implements IRenderer {
         GL11.glDisable(GL11.GL_CULL_FACE);
         GL11.glDisable(GL11.GL_COLOR_MATERIAL);
         
+        batcher.beginFrame();
     }
     
     @Override
     public void endFrame() {
         if (!initialized) return;
+        batcher.endFrame();
         GLFW.glfwSwapBuffers(window);
     }
     
     @Override
     public void drawRect(float x, float y, float w, float h, float r, float g, float b, float a) {
         if (!initialized) return;
-        
-        GL11.glColor4f(r, g, b, a);
-        GL11.glBegin(GL11.GL_QUADS);
-        GL11.glVertex2f(x, y);
-        GL11.glVertex2f(x + w, y);
-        GL11.glVertex2f(x + w, y + h);
-        GL11.glVertex2f(x, y + h);
-        GL11.glEnd();
-        
+        batcher.rect(x, y, w, h, r, g, b, a);
+    }
+    
+    @Override
+    public void drawRects(FloatBuffer rects, int count) {
+        if (!initialized || count <= 0) return;
+        batcher.rects(rects, count);
     }
     
     @Override
     public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
         if (!initialized) return;
-        
-        GL11.glColor4f(r, g, b, a);
-        GL11.glBegin(GL11.GL_TRIANGLE_FAN);
-        GL11.glVertex2f(x, y);
-        
-        for (int i = 0; i <= segments; i++) {
-            float angle = (float) (i * 2.0 * Math.PI / segments);
-            float px = x + (float) (radius * Math.cos(angle));
-            float py = y + (float) (radius * Math.sin(angle));
-            GL11.glVertex2f(px, py);
-        }
-        GL11.glEnd();
+        batcher.circle(x, y, radius, segments, r, g, b, a);
     }
     
     @Override
     public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
         if (!initialized) return;
-        
-        GL11.glLineWidth(2.5f);
-        GL11.glColor4f(r, g, b, a);
-        GL11.glBegin(GL11.GL_LINES);
-        GL11.glVertex2f(x1, y1);
-        GL11.glVertex2f(x2, y2);
-        GL11.glEnd();
+        batcher.line(x1, y1, x2, y2, r, g, b, a);
     }
     
     @Override
@@ -222,10 +215,6 @@ public class GPURenderer implements IRenderer {
             preloadTextures();
         }
         
-        GL11.glEnable(GL11.GL_TEXTURE_2D);
-        GL11.glEnable(GL11.GL_BLEND);
-        GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
-        
         float currentX = x;
         float charHeight = fontSize;
         float charWidth = fontSize * 0.6f;
@@ -240,26 +229,12 @@ public class GPURenderer implements IRenderer {
             
             int textureId = getCharTexture(c);
             if (textureId > 0) {
-                GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
-                GL11.glTexEnvi(GL11.GL_TEXTURE_ENV, GL11.GL_TEXTURE_ENV_MODE, GL11.GL_MODULATE);
-                GL11.glColor4f(r, g, b, a);
-                GL11.glBegin(GL11.GL_QUADS);
-                GL11.glTexCoord2f(0.0f, 0.0f);
-                GL11.glVertex2f(currentX, y);
-                GL11.glTexCoord2f(1.0f, 0.0f);
-                GL11.glVertex2f(currentX + charWidth, y);
-                GL11.glTexCoord2f(1.0f, 1.0f);
-                GL11.glVertex2f(currentX + charWidth, y + charHeight);
-                GL11.glTexCoord2f(0.0f, 1.0f);
-                GL11.glVertex2f(currentX, y + charHeight);
-                GL11.glEnd();
+                batcher.texturedQuad(textureId, currentX, y, currentX + charWidth, y + charHeight,
+                    0.0f, 0.0f, 1.0f, 1.0f, r, g, b, a);
             }
             
             currentX += charWidth + spacing;
         }
-        
-        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
-        GL11.glDisable(GL11.GL_TEXTURE_2D);
     }
     
     private void preloadTextures() {
@@ -452,6 +427,15 @@ public class GPURenderer implements IRenderer {
         }
         charTextures.clear();
         
+        if (commandSink != null) {
+            commandSink.dispose();
+            commandSink = null;
+        }
+        if (batchVertices != null) {
+            MemoryUtil.memFree(batchVertices);
+            batchVertices = null;
+        }
+        
         if (window != MemoryUtil.NULL) {
             GLFW.glfwDestroyWindow(window);
             window = MemoryUtil.NULL;
@@ -463,6 +447,10 @@ public class GPURenderer implements IRenderer {
         }
     }
     
+    public SpriteBatcher getSpriteBatcher() {
+        return batcher;
+    }
+    
     @Override
     public int getWidth() {
         return width;
@@ -1,10 +1,17 @@
 package com.gameengine.graphics;
 
+import java.nio.FloatBuffer;
+
 public interface IRenderer {
+    // drawRects 每个矩形占用的 float 数：x, y, w, h, r, g, b, a
+    int RECT_FLOATS = 8;
+    
     void beginFrame();
     void endFrame();
     
     void drawRect(float x, float y, float width, float height, float r, float g, float b, float a);
+    // 批量提交矩形：从 rects 当前位置起读取 count 个，不改变缓冲位置
+    void drawRects(FloatBuffer rects, int count);
     void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a);
     void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a);
     void drawText(float x, float y, String text, float r, float g, float b, float a);
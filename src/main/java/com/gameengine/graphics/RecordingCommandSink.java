@@ -0,0 +1,91 @@
+package com.gameengine.graphics;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// 记录型命令流：保存每次上传的顶点副本与每次绘制的 (上传序号, 纹理, 起点, 数量)，用于在无 GPU 环境下校验批处理结果
+public class RecordingCommandSink implements RenderCommandSink {
+    private final List<float[]> uploads;
+    private final List<int[]> draws;
+    private int finishCount;
+    private boolean open;
+
+    public RecordingCommandSink() {
+        this.uploads = new ArrayList<>();
+        this.draws = new ArrayList<>();
+    }
+
+    @Override
+    public void upload(FloatBuffer vertices, int vertexCount) {
+        if (open) {
+            throw new IllegalStateException("上一批尚未 finish 就再次上传");
+        }
+        if (vertices.remaining() != vertexCount * SpriteBatcher.VERTEX_FLOATS) {
+            throw new IllegalStateException("上传数据长度与顶点数不符: " + vertices.remaining() + " / " + vertexCount);
+        }
+        float[] copy = new float[vertices.remaining()];
+        vertices.get(vertices.position(), copy);
+        uploads.add(copy);
+        open = true;
+    }
+
+    @Override
+    public void draw(int texture, int first, int count) {
+        if (!open) {
+            throw new IllegalStateException("绘制前未上传顶点");
+        }
+        draws.add(new int[] { uploads.size() - 1, texture, first, count });
+    }
+
+    @Override
+    public void finish() {
+        open = false;
+        finishCount++;
+    }
+
+    public void clear() {
+        uploads.clear();
+        draws.clear();
+        finishCount = 0;
+        open = false;
+    }
+
+    public int getUploadCount() {
+        return uploads.size();
+    }
+
+    public float[] getUpload(int index) {
+        return uploads.get(index);
+    }
+
+    public int getDrawCount() {
+        return draws.size();
+    }
+
+    // 返回 {上传序号, 纹理, 起始顶点, 顶点数}
+    public int[] getDraw(int index) {
+        return draws.get(index);
+    }
+
+    public int getFinishCount() {
+        return finishCount;
+    }
+
+    // 形如 U60 D0:0+36 D3:36+6 F，便于比对命令序列
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        int d = 0;
+        for (int u = 0; u < uploads.size(); u++) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append('U').append(uploads.get(u).length / SpriteBatcher.VERTEX_FLOATS);
+            while (d < draws.size() && draws.get(d)[0] == u) {
+                int[] draw = draws.get(d++);
+                sb.append(" D").append(draw[1]).append(':').append(draw[2]).append('+').append(draw[3]);
+            }
+            if (u < finishCount) sb.append(" F");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.gameengine.graphics;
+
+import java.nio.FloatBuffer;
+
+// SpriteBatcher 的输出命令流：每次刷新为一次 upload、若干次 draw、一次 finish
+// GPU 实现为 GLCommandSink；测试可实现该接口记录命令，无需图形上下文
+public interface RenderCommandSink {
+    // vertices 的 [position, limit) 为本批 vertexCount 个顶点，每个 SpriteBatcher.VERTEX_FLOATS 个 float
+    void upload(FloatBuffer vertices, int vertexCount);
+
+    // 以 texture 状态绘制已上传顶点中 [first, first + count) 组成的三角形，texture 为 0 表示无纹理
+    void draw(int texture, int first, int count);
+
+    void finish();
+}
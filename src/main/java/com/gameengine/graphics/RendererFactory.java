@@ -1,11 +1,33 @@
 package com.gameengine.graphics;
 
+import java.lang.reflect.InvocationTargetException;
+
 public class RendererFactory {
+    // GPU 渲染器依赖 LWJGL，按类名加载：无 LWJGL 的服务器构建可排除其源文件，只使用 HEADLESS 后端
+    private static final String GPU_RENDERER = "com.gameengine.graphics.GPURenderer";
+
     public static IRenderer createRenderer(RenderBackend backend, int width, int height, String title) {
         if (backend == RenderBackend.GPU) {
-            return new GPURenderer(width, height, title);
+            return createGPURenderer(width, height, title);
+        }
+        if (backend == RenderBackend.HEADLESS) {
+            return new HeadlessRenderer(width, height, title);
         }
         throw new IllegalArgumentException("不支持的渲染后端: " + backend);
     }
-}
 
+    private static IRenderer createGPURenderer(int width, int height, String title) {
+        try {
+            return (IRenderer) Class.forName(GPU_RENDERER)
+                .getConstructor(int.class, int.class, String.class)
+                .newInstance(width, height, title);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException("GPU渲染器初始化失败: " + cause, cause);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("GPU 渲染后端不可用：未编译 GPURenderer 或缺少 LWJGL", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.gameengine.graphics;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 模拟线程使用的记录型渲染器：绘制调用写入快照，endFrame 时发布给持有 GL 上下文的渲染线程
+// 三缓冲：写缓冲、已发布缓冲、读缓冲互不重叠，双方都无需等待对方
+public class SnapshotRenderer implements IRenderer {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final IRenderer display;
+    private final FrameSnapshot[] buffers;
+    private final AtomicInteger published;
+    private int writeIndex;
+    private int readIndex;
+    private long frameCount;
+    private volatile boolean closeRequested;
+
+    public SnapshotRenderer(IRenderer display) {
+        this(display, 4096);
+    }
+
+    public SnapshotRenderer(IRenderer display, int initialCommands) {
+        this.display = display;
+        this.buffers = new FrameSnapshot[3];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new FrameSnapshot(initialCommands);
+        }
+        this.writeIndex = 0;
+        this.published = new AtomicInteger(1);
+        this.readIndex = 2;
+        this.closeRequested = false;
+    }
+
+    public IRenderer getDisplay() {
+        return display;
+    }
+
+    // 渲染线程调用：有新帧时交换并返回最新快照，否则返回 null
+    public FrameSnapshot acquireLatest() {
+        if ((published.get() & FRESH) == 0) {
+            return null;
+        }
+        readIndex = published.getAndSet(readIndex) & INDEX_MASK;
+        return buffers[readIndex];
+    }
+
+    public void requestClose() {
+        closeRequested = true;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    @Override
+    public void beginFrame() {
+        buffers[writeIndex].reset(frameCount);
+    }
+
+    @Override
+    public void endFrame() {
+        frameCount++;
+        writeIndex = published.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    @Override
+    public void drawRect(float x, float y, float width, float height, float r, float g, float b, float a) {
+        buffers[writeIndex].add(FrameSnapshot.RECT, x, y, width, height, r, g, b, a, null);
+    }
+
+    @Override
+    public void drawRects(FloatBuffer rects, int count) {
+        buffers[writeIndex].addRects(rects, count);
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        buffers[writeIndex].add(FrameSnapshot.CIRCLE, x, y, radius, segments, r, g, b, a, null);
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        buffers[writeIndex].add(FrameSnapshot.LINE, x1, y1, x2, y2, r, g, b, a, null);
+    }
+
+    @Override
+    public void drawText(float x, float y, String text, float r, float g, float b, float a) {
+        buffers[writeIndex].add(FrameSnapshot.TEXT, x, y, 0, 0, r, g, b, a, text);
+    }
+
+    @Override
+    public boolean shouldClose() {
+        return closeRequested;
+    }
+
+    // 事件轮询由渲染线程负责
+    @Override
+    public void pollEvents() {
+    }
+
+    // 窗口与 GL 资源由渲染线程在模拟线程退出后释放
+    @Override
+    public void cleanup() {
+        closeRequested = true;
+    }
+
+    @Override
+    public int getWidth() {
+        return display.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return display.getHeight();
+    }
+
+    @Override
+    public String getTitle() {
+        return display.getTitle();
+    }
+}
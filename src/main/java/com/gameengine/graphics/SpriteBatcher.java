@@ -0,0 +1,269 @@
+package com.gameengine.graphics;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+// 把矩形、圆、线段与文字字形统一转换为三角形，写入流式顶点缓冲后按状态成批提交给命令流
+// 无纹理几何按调用顺序输出；连续的带纹理四边形（文字字形）先暂存，遇到无纹理几何或刷新时按纹理排序输出，
+// 因此同一段文字内的字形之间可能改变绘制顺序，但不会越过前后的无纹理几何
+public class SpriteBatcher {
+    // 顶点格式：x, y, u, v, r, g, b, a
+    public static final int VERTEX_FLOATS = 8;
+    // 暂存四边形：x0, y0, x1, y1, u0, v0, u1, v1, r, g, b, a
+    private static final int QUAD_FLOATS = 12;
+
+    private final RenderCommandSink sink;
+    private final FloatBuffer vertices;
+    private final int maxVertices;
+    private int vertexCount;
+
+    // 本次刷新内的绘制段，纹理相同的相邻顶点合并为一段
+    private int[] segmentTexture;
+    private int[] segmentFirst;
+    private int segmentCount;
+
+    private float[] quads;
+    private int[] quadTexture;
+    private long[] quadOrder;
+    private int quadCount;
+
+    private float lineWidth;
+    private int tableSegments;
+    private float[] unitCos;
+    private float[] unitSin;
+
+    private int drawCalls;
+    private int flushes;
+    private int submittedVertices;
+    private int lastDrawCalls;
+    private int lastFlushes;
+    private int lastVertices;
+
+    // vertices 由调用方分配（GPU 端为堆外内存），容量决定每次刷新最多容纳的顶点数
+    public SpriteBatcher(RenderCommandSink sink, FloatBuffer vertices) {
+        this.sink = sink;
+        this.vertices = vertices;
+        this.maxVertices = vertices.capacity() / VERTEX_FLOATS;
+        if (maxVertices < 6) {
+            throw new IllegalArgumentException("顶点缓冲过小: " + vertices.capacity());
+        }
+        this.segmentTexture = new int[64];
+        this.segmentFirst = new int[64];
+        this.quads = new float[256 * QUAD_FLOATS];
+        this.quadTexture = new int[256];
+        this.quadOrder = new long[256];
+        this.lineWidth = 2.5f;
+        vertices.clear();
+    }
+
+    public void beginFrame() {
+        vertices.clear();
+        vertexCount = 0;
+        segmentCount = 0;
+        quadCount = 0;
+        drawCalls = 0;
+        flushes = 0;
+        submittedVertices = 0;
+    }
+
+    public void endFrame() {
+        flush();
+        lastDrawCalls = drawCalls;
+        lastFlushes = flushes;
+        lastVertices = submittedVertices;
+    }
+
+    public void rect(float x, float y, float w, float h, float r, float g, float b, float a) {
+        resolveQuads();
+        reserve(0, 6);
+        quadVertices(x, y, x + w, y + h, 0, 0, 0, 0, r, g, b, a);
+    }
+
+    // 与 IRenderer.drawRects 相同的数据布局
+    public void rects(FloatBuffer rects, int count) {
+        resolveQuads();
+        int src = rects.position();
+        for (int i = 0; i < count; i++, src += IRenderer.RECT_FLOATS) {
+            float x = rects.get(src), y = rects.get(src + 1);
+            reserve(0, 6);
+            quadVertices(x, y, x + rects.get(src + 2), y + rects.get(src + 3), 0, 0, 0, 0,
+                rects.get(src + 4), rects.get(src + 5), rects.get(src + 6), rects.get(src + 7));
+        }
+    }
+
+    public void circle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        int n = Math.max(3, Math.min(segments, maxVertices / 3));
+        resolveQuads();
+        reserve(0, n * 3);
+        float[] cos = unitCos(n);
+        float[] sin = unitSin;
+        for (int i = 0; i < n; i++) {
+            vertex(x, y, 0, 0, r, g, b, a);
+            vertex(x + radius * cos[i], y + radius * sin[i], 0, 0, r, g, b, a);
+            vertex(x + radius * cos[i + 1], y + radius * sin[i + 1], 0, 0, r, g, b, a);
+        }
+    }
+
+    // 线段展开为沿法线方向加宽的四边形，替代逐次设置线宽
+    public void line(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        float dx = x2 - x1;
+        float dy = y2 - y1;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        if (length == 0f) return;
+        float scale = lineWidth * 0.5f / length;
+        float nx = -dy * scale;
+        float ny = dx * scale;
+        resolveQuads();
+        reserve(0, 6);
+        vertex(x1 + nx, y1 + ny, 0, 0, r, g, b, a);
+        vertex(x2 + nx, y2 + ny, 0, 0, r, g, b, a);
+        vertex(x2 - nx, y2 - ny, 0, 0, r, g, b, a);
+        vertex(x1 + nx, y1 + ny, 0, 0, r, g, b, a);
+        vertex(x2 - nx, y2 - ny, 0, 0, r, g, b, a);
+        vertex(x1 - nx, y1 - ny, 0, 0, r, g, b, a);
+    }
+
+    public void texturedQuad(int texture, float x0, float y0, float x1, float y1,
+                             float u0, float v0, float u1, float v1, float r, float g, float b, float a) {
+        if (texture <= 0) return;
+        if (quadCount == quadTexture.length) {
+            int capacity = quadCount * 2;
+            quads = Arrays.copyOf(quads, capacity * QUAD_FLOATS);
+            quadTexture = Arrays.copyOf(quadTexture, capacity);
+            quadOrder = Arrays.copyOf(quadOrder, capacity);
+        }
+        int base = quadCount * QUAD_FLOATS;
+        quads[base] = x0;
+        quads[base + 1] = y0;
+        quads[base + 2] = x1;
+        quads[base + 3] = y1;
+        quads[base + 4] = u0;
+        quads[base + 5] = v0;
+        quads[base + 6] = u1;
+        quads[base + 7] = v1;
+        quads[base + 8] = r;
+        quads[base + 9] = g;
+        quads[base + 10] = b;
+        quads[base + 11] = a;
+        quadTexture[quadCount] = texture;
+        quadCount++;
+    }
+
+    public void flush() {
+        resolveQuads();
+        flushVertices();
+    }
+
+    // 暂存的字形按 (纹理, 提交序) 排序后输出，同一纹理的字形合并为一段
+    private void resolveQuads() {
+        if (quadCount == 0) return;
+        for (int i = 0; i < quadCount; i++) {
+            quadOrder[i] = ((long) quadTexture[i] << 32) | i;
+        }
+        Arrays.sort(quadOrder, 0, quadCount);
+        for (int k = 0; k < quadCount; k++) {
+            int i = (int) quadOrder[k];
+            int base = i * QUAD_FLOATS;
+            reserve(quadTexture[i], 6);
+            quadVertices(quads[base], quads[base + 1], quads[base + 2], quads[base + 3],
+                quads[base + 4], quads[base + 5], quads[base + 6], quads[base + 7],
+                quads[base + 8], quads[base + 9], quads[base + 10], quads[base + 11]);
+        }
+        quadCount = 0;
+    }
+
+    // 为 n 个顶点预留空间：缓冲不足时先刷新，纹理变化时开启新的绘制段
+    private void reserve(int texture, int n) {
+        if (vertexCount + n > maxVertices) {
+            flushVertices();
+        }
+        if (segmentCount == 0 || segmentTexture[segmentCount - 1] != texture) {
+            if (segmentCount == segmentTexture.length) {
+                segmentTexture = Arrays.copyOf(segmentTexture, segmentCount * 2);
+                segmentFirst = Arrays.copyOf(segmentFirst, segmentCount * 2);
+            }
+            segmentTexture[segmentCount] = texture;
+            segmentFirst[segmentCount] = vertexCount;
+            segmentCount++;
+        }
+        vertexCount += n;
+    }
+
+    private void flushVertices() {
+        if (vertexCount == 0) return;
+        vertices.flip();
+        sink.upload(vertices, vertexCount);
+        for (int s = 0; s < segmentCount; s++) {
+            int first = segmentFirst[s];
+            int end = s + 1 < segmentCount ? segmentFirst[s + 1] : vertexCount;
+            sink.draw(segmentTexture[s], first, end - first);
+        }
+        sink.finish();
+        drawCalls += segmentCount;
+        flushes++;
+        submittedVertices += vertexCount;
+        vertices.clear();
+        vertexCount = 0;
+        segmentCount = 0;
+    }
+
+    private void quadVertices(float x0, float y0, float x1, float y1,
+                              float u0, float v0, float u1, float v1, float r, float g, float b, float a) {
+        vertex(x0, y0, u0, v0, r, g, b, a);
+        vertex(x1, y0, u1, v0, r, g, b, a);
+        vertex(x1, y1, u1, v1, r, g, b, a);
+        vertex(x0, y0, u0, v0, r, g, b, a);
+        vertex(x1, y1, u1, v1, r, g, b, a);
+        vertex(x0, y1, u0, v1, r, g, b, a);
+    }
+
+    private void vertex(float x, float y, float u, float v, float r, float g, float b, float a) {
+        vertices.put(x).put(y).put(u).put(v).put(r).put(g).put(b).put(a);
+    }
+
+    // 缓存最近一次使用的分段数对应的单位圆顶点
+    private float[] unitCos(int segments) {
+        if (segments != tableSegments) {
+            unitCos = new float[segments + 1];
+            unitSin = new float[segments + 1];
+            for (int i = 0; i <= segments; i++) {
+                double angle = i * 2.0 * Math.PI / segments;
+                unitCos[i] = (float) Math.cos(angle);
+                unitSin[i] = (float) Math.sin(angle);
+            }
+            tableSegments = segments;
+        }
+        return unitCos;
+    }
+
+    public void setLineWidth(float width) {
+        this.lineWidth = Math.max(0f, width);
+    }
+
+    public float getLineWidth() {
+        return lineWidth;
+    }
+
+    public int getMaxVertices() {
+        return maxVertices;
+    }
+
+    // 以下统计均为上一完整帧的数值
+    public int getDrawCalls() {
+        return lastDrawCalls;
+    }
+
+    public int getFlushes() {
+        return lastFlushes;
+    }
+
+    public int getVertexCount() {
+        return lastVertices;
+    }
+
+    @Override
+    public String toString() {
+        return "SpriteBatcher[drawCalls=" + lastDrawCalls + " flushes=" + lastFlushes
+            + " vertices=" + lastVertices + "]";
+    }
+}
@@ -15,6 +15,7 @@ public class InputManager {
     private boolean[] mouseButtons;
     private boolean[] mouseButtonsJustPressed;
     
+    // 回调来自窗口线程，流水线模式下由模拟线程读取，因此状态访问需同步
     private InputManager() {
         pressedKeys = new HashSet<>();
         justPressedKeys = new HashSet<>();
@@ -31,14 +32,14 @@ public class InputManager {
         return instance;
     }
     
-    public void update() {
+    public synchronized void update() {
         justPressedKeys.clear();
         for (int i = 0; i < mouseButtonsJustPressed.length; i++) {
             mouseButtonsJustPressed[i] = false;
         }
     }
     
-    public void onKeyPressed(int keyCode) {
+    public synchronized void onKeyPressed(int keyCode) {
         if (!pressedKeys.contains(keyCode)) {
             justPressedKeys.add(keyCode);
         }
@@ -46,17 +47,17 @@ public class InputManager {
         keyStates.put(keyCode, true);
     }
     
-    public void onKeyReleased(int keyCode) {
+    public synchronized void onKeyReleased(int keyCode) {
         pressedKeys.remove(keyCode);
         keyStates.put(keyCode, false);
     }
     
-    public void onMouseMoved(float x, float y) {
+    public synchronized void onMouseMoved(float x, float y) {
         mousePosition.x = x;
         mousePosition.y = y;
     }
     
-    public void onMousePressed(int button) {
+    public synchronized void onMousePressed(int button) {
         if (button >= 0 && button < mouseButtons.length) {
             if (!mouseButtons[button]) {
                 mouseButtonsJustPressed[button] = true;
@@ -65,55 +66,55 @@ public class InputManager {
         }
     }
     
-    public void onMouseReleased(int button) {
+    public synchronized void onMouseReleased(int button) {
         if (button >= 0 && button < mouseButtons.length) {
             mouseButtons[button] = false;
         }
     }
     
-    public boolean isKeyPressed(int keyCode) {
+    public synchronized boolean isKeyPressed(int keyCode) {
         return pressedKeys.contains(keyCode);
     }
     
-    public boolean isKeyJustPressed(int keyCode) {
+    public synchronized boolean isKeyJustPressed(int keyCode) {
         return justPressedKeys.contains(keyCode);
     }
     
-    public boolean isMouseButtonPressed(int button) {
+    public synchronized boolean isMouseButtonPressed(int button) {
         if (button >= 0 && button < mouseButtons.length) {
             return mouseButtons[button];
         }
         return false;
     }
     
-    public boolean isMouseButtonJustPressed(int button) {
+    public synchronized boolean isMouseButtonJustPressed(int button) {
         if (button >= 0 && button < mouseButtons.length) {
             return mouseButtonsJustPressed[button];
         }
         return false;
     }
     
-    public boolean isAnyKeyJustPressed() {
+    public synchronized boolean isAnyKeyJustPressed() {
         return !justPressedKeys.isEmpty();
     }
     
-    public boolean isAnyKeyPressed() {
+    public synchronized boolean isAnyKeyPressed() {
         return !pressedKeys.isEmpty();
     }
 
-    public java.util.Set<Integer> getJustPressedKeysSnapshot() {
+    public synchronized java.util.Set<Integer> getJustPressedKeysSnapshot() {
         return new java.util.HashSet<>(justPressedKeys);
     }
     
-    public Vector2 getMousePosition() {
+    public synchronized Vector2 getMousePosition() {
         return new Vector2(mousePosition);
     }
     
-    public float getMouseX() {
+    public synchronized float getMouseX() {
         return mousePosition.x;
     }
     
-    public float getMouseY() {
+    public synchronized float getMouseY() {
         return mousePosition.y;
     }
 }
@@ -34,6 +34,10 @@ public class Vector2 {
         return (float) Math.sqrt(x * x + y * y);
     }
     
+    public float magnitudeSquared() {
+        return x * x + y * y;
+    }
+    
     public Vector2 normalize() {
         float mag = magnitude();
         if (mag == 0) return new Vector2(0, 0);
@@ -45,7 +49,85 @@ public class Vector2 {
     }
     
     public float distance(Vector2 other) {
-        return this.subtract(other).magnitude();
+        float dx = this.x - other.x;
+        float dy = this.y - other.y;
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+    
+    public float distanceSquared(Vector2 other) {
+        float dx = this.x - other.x;
+        float dy = this.y - other.y;
+        return dx * dx + dy * dy;
+    }
+    
+    // 原地修改版本：不分配新对象，返回 this 以便链式调用
+    public Vector2 set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+    
+    public Vector2 set(Vector2 other) {
+        this.x = other.x;
+        this.y = other.y;
+        return this;
+    }
+    
+    public Vector2 addLocal(Vector2 other) {
+        this.x += other.x;
+        this.y += other.y;
+        return this;
+    }
+    
+    public Vector2 addLocal(float dx, float dy) {
+        this.x += dx;
+        this.y += dy;
+        return this;
+    }
+    
+    public Vector2 subtractLocal(Vector2 other) {
+        this.x -= other.x;
+        this.y -= other.y;
+        return this;
+    }
+    
+    public Vector2 scaleLocal(float scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        return this;
+    }
+    
+    public Vector2 normalizeLocal() {
+        float mag = magnitude();
+        if (mag == 0) return set(0, 0);
+        return set(x / mag, y / mag);
+    }
+    
+    public Vector2 clampMagnitudeLocal(float maxMagnitude) {
+        float magSq = x * x + y * y;
+        if (magSq > maxMagnitude * maxMagnitude) {
+            float s = maxMagnitude / (float) Math.sqrt(magSq);
+            x *= s;
+            y *= s;
+        }
+        return this;
+    }
+    
+    // 输出参数版本：结果写入 out 并返回 out
+    public Vector2 add(Vector2 other, Vector2 out) {
+        return out.set(this.x + other.x, this.y + other.y);
+    }
+    
+    public Vector2 subtract(Vector2 other, Vector2 out) {
+        return out.set(this.x - other.x, this.y - other.y);
+    }
+    
+    public Vector2 multiply(float scalar, Vector2 out) {
+        return out.set(this.x * scalar, this.y * scalar);
+    }
+    
+    public Vector2 normalize(Vector2 out) {
+        return out.set(this).normalizeLocal();
     }
     
     @Override
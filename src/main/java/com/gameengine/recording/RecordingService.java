@@ -1,7 +1,10 @@
 package com.gameengine.recording;
 
+import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.JobHandle;
+import com.gameengine.core.JobSystem;
 import com.gameengine.input.InputManager;
 import com.gameengine.scene.Scene;
 
@@ -24,6 +27,9 @@ public class RecordingService {
     private final double warmupSec = 0.1; // 等待一帧让场景对象完成初始化
     private final DecimalFormat qfmt;
     private Scene lastScene;
+    // 序列化在 JobSystem 上串行链式执行：模拟线程只负责采集数值，保证行顺序不变
+    private final JobSystem jobs;
+    private JobHandle lastJob;
 
     public RecordingService(RecordingConfig config) {
         this.config = config;
@@ -35,6 +41,7 @@ public class RecordingService {
         this.qfmt = new DecimalFormat();
         this.qfmt.setMaximumFractionDigits(Math.max(0, config.quantizeDecimals));
         this.qfmt.setGroupingUsed(false);
+        this.jobs = JobSystem.getInstance();
     }
 
     public boolean isRecording() {
@@ -74,7 +81,11 @@ public class RecordingService {
             if (lastScene != null) {
                 writeKeyframe(lastScene);
             }
+            if (lastJob != null) {
+                lastJob.complete();
+            }
         } catch (Exception ignored) {}
+        lastJob = null;
         recording = false;
         try { writerThread.join(500); } catch (InterruptedException ignored) {}
     }
@@ -89,16 +100,19 @@ public class RecordingService {
         // input events (sample at native frequency, but只写有justPressed)
         Set<Integer> just = input.getJustPressedKeysSnapshot();
         if (!just.isEmpty()) {
-            StringBuilder sb = new StringBuilder();
-            sb.append("{\"type\":\"input\",\"t\":").append(qfmt.format(elapsed)).append(",\"keys\":[");
-            boolean first = true;
-            for (Integer k : just) {
-                if (!first) sb.append(',');
-                sb.append(k);
-                first = false;
-            }
-            sb.append("]}");
-            enqueue(sb.toString());
+            final double t = elapsed;
+            submit(() -> {
+                StringBuilder sb = new StringBuilder();
+                sb.append("{\"type\":\"input\",\"t\":").append(qfmt.format(t)).append(",\"keys\":[");
+                boolean first = true;
+                for (Integer k : just) {
+                    if (!first) sb.append(',');
+                    sb.append(k);
+                    first = false;
+                }
+                sb.append("]}");
+                enqueue(sb.toString());
+            });
         }
 
         // sampled deltas placeholder（可扩展）：此处先跳过，保持最小版本
@@ -112,50 +126,96 @@ public class RecordingService {
     }
 
     private boolean writeKeyframe(Scene scene) {
+        KeyframeCapture capture = KeyframeCapture.of(scene, elapsed);
+        if (capture.count == 0) return false;
+        submit(() -> enqueue(formatKeyframe(capture)));
+        return true;
+    }
+
+    private void submit(Runnable task) {
+        lastJob = lastJob == null ? jobs.scheduleDetached(task) : jobs.scheduleDetached(task, lastJob);
+    }
+
+    private String formatKeyframe(KeyframeCapture k) {
         StringBuilder sb = new StringBuilder();
-        sb.append("{\"type\":\"keyframe\",\"t\":").append(qfmt.format(elapsed)).append(",\"entities\":[");
-        List<GameObject> objs = scene.getGameObjects();
-        boolean first = true;
-        int count = 0;
-        for (GameObject obj : objs) {
-            TransformComponent tc = obj.getComponent(TransformComponent.class);
-            if (tc == null) continue;
-            float x = tc.getPosition().x;
-            float y = tc.getPosition().y;
-            if (!first) sb.append(',');
+        sb.append("{\"type\":\"keyframe\",\"t\":").append(qfmt.format(k.t)).append(",\"entities\":[");
+        for (int i = 0; i < k.count; i++) {
+            if (i > 0) sb.append(',');
             sb.append('{')
-              .append("\"id\":\"").append(obj.getName()).append("\",")
-              .append("\"x\":").append(qfmt.format(x)).append(',')
-              .append("\"y\":").append(qfmt.format(y));
+              .append("\"id\":\"").append(k.ids[i]).append("\",")
+              .append("\"x\":").append(qfmt.format(k.xs[i])).append(',')
+              .append("\"y\":").append(qfmt.format(k.ys[i]));
 
             // 可选渲染信息（若对象带有 RenderComponent，则记录形状、尺寸、颜色）
-            com.gameengine.components.RenderComponent rc = obj.getComponent(com.gameengine.components.RenderComponent.class);
-            if (rc != null) {
-                com.gameengine.components.RenderComponent.RenderType rt = rc.getRenderType();
-                com.gameengine.math.Vector2 sz = rc.getSize();
-                com.gameengine.components.RenderComponent.Color col = rc.getColor();
+            RenderComponent.RenderType rt = k.types[i];
+            if (rt != null) {
+                int v = i * 6;
                 sb.append(',')
                   .append("\"rt\":\"").append(rt.name()).append("\",")
-                  .append("\"w\":").append(qfmt.format(sz.x)).append(',')
-                  .append("\"h\":").append(qfmt.format(sz.y)).append(',')
+                  .append("\"w\":").append(qfmt.format(k.visuals[v])).append(',')
+                  .append("\"h\":").append(qfmt.format(k.visuals[v + 1])).append(',')
                   .append("\"color\":[")
-                  .append(qfmt.format(col.r)).append(',')
-                  .append(qfmt.format(col.g)).append(',')
-                  .append(qfmt.format(col.b)).append(',')
-                  .append(qfmt.format(col.a)).append(']');
+                  .append(qfmt.format(k.visuals[v + 2])).append(',')
+                  .append(qfmt.format(k.visuals[v + 3])).append(',')
+                  .append(qfmt.format(k.visuals[v + 4])).append(',')
+                  .append(qfmt.format(k.visuals[v + 5])).append(']');
             } else {
                 // 标记自定义渲染（如 Player），方便回放做近似还原
                 sb.append(',').append("\"rt\":\"CUSTOM\"");
             }
 
             sb.append('}');
-            first = false;
-            count++;
         }
         sb.append("]}");
-        if (count == 0) return false;
-        enqueue(sb.toString());
-        return true;
+        return sb.toString();
+    }
+
+    // 关键帧数值快照：在模拟线程采集，序列化任务只读取该副本
+    private static final class KeyframeCapture {
+        final double t;
+        final String[] ids;
+        final float[] xs;
+        final float[] ys;
+        final RenderComponent.RenderType[] types;
+        final float[] visuals;
+        int count;
+
+        private KeyframeCapture(double t, int capacity) {
+            this.t = t;
+            this.ids = new String[capacity];
+            this.xs = new float[capacity];
+            this.ys = new float[capacity];
+            this.types = new RenderComponent.RenderType[capacity];
+            this.visuals = new float[capacity * 6];
+        }
+
+        static KeyframeCapture of(Scene scene, double t) {
+            List<GameObject> objs = scene.getGameObjectsView();
+            KeyframeCapture k = new KeyframeCapture(t, objs.size());
+            for (int i = 0, n = objs.size(); i < n; i++) {
+                GameObject obj = objs.get(i);
+                TransformComponent tc = obj.getComponent(TransformComponent.class);
+                if (tc == null) continue;
+                int c = k.count++;
+                k.ids[c] = obj.getName();
+                k.xs[c] = tc.getX();
+                k.ys[c] = tc.getY();
+                RenderComponent rc = obj.getComponent(RenderComponent.class);
+                if (rc != null) {
+                    com.gameengine.math.Vector2 sz = rc.getSize();
+                    RenderComponent.Color col = rc.getColor();
+                    int v = c * 6;
+                    k.types[c] = rc.getRenderType();
+                    k.visuals[v] = sz.x;
+                    k.visuals[v + 1] = sz.y;
+                    k.visuals[v + 2] = col.r;
+                    k.visuals[v + 3] = col.g;
+                    k.visuals[v + 4] = col.b;
+                    k.visuals[v + 5] = col.a;
+                }
+            }
+            return k;
+        }
     }
 
     private void enqueue(String line) {
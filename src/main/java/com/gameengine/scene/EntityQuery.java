@@ -0,0 +1,81 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.ComponentRegistry;
+import com.gameengine.core.GameObject;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+// 场景内满足组件组合的实体集合，由 Scene 增量维护
+public class EntityQuery {
+    private final int[] componentIds;
+    private final GameObjectBucket entities;
+
+    EntityQuery(int[] componentIds) {
+        this.componentIds = componentIds;
+        this.entities = new GameObjectBucket();
+    }
+
+    public boolean matches(GameObject obj) {
+        for (int id : componentIds) {
+            if (!obj.hasComponentType(id)) return false;
+        }
+        return true;
+    }
+
+    public boolean contains(GameObject obj) {
+        return entities.contains(obj);
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    public boolean isEmpty() {
+        return entities.size() == 0;
+    }
+
+    public GameObject get(int index) {
+        return entities.get(index);
+    }
+
+    public List<GameObject> getEntities() {
+        return entities.view();
+    }
+
+    public void forEach(Consumer<GameObject> action) {
+        for (int i = 0, n = entities.size(); i < n; i++) {
+            action.accept(entities.get(i));
+        }
+    }
+
+    void refresh(GameObject obj) {
+        if (matches(obj)) {
+            entities.add(obj);
+        } else {
+            entities.remove(obj);
+        }
+    }
+
+    void add(GameObject obj) {
+        entities.add(obj);
+    }
+
+    void remove(GameObject obj) {
+        entities.remove(obj);
+    }
+
+    void clear() {
+        entities.clear();
+    }
+
+    static int[] idsOf(Class<?>[] componentTypes) {
+        int[] ids = new int[componentTypes.length];
+        for (int i = 0; i < componentTypes.length; i++) {
+            ids[i] = ComponentRegistry.idOf(componentTypes[i]);
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,62 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.GameObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 支持 O(1) 增删的对象集合（swap-remove，不保证顺序）
+class GameObjectBucket {
+    private final List<GameObject> objects;
+    private final List<GameObject> view;
+    private final Map<GameObject, Integer> indices;
+
+    GameObjectBucket() {
+        this.objects = new ArrayList<>();
+        this.view = Collections.unmodifiableList(objects);
+        this.indices = new IdentityHashMap<>();
+    }
+
+    boolean add(GameObject obj) {
+        if (indices.containsKey(obj)) return false;
+        indices.put(obj, objects.size());
+        objects.add(obj);
+        return true;
+    }
+
+    boolean remove(GameObject obj) {
+        Integer index = indices.remove(obj);
+        if (index == null) return false;
+        int last = objects.size() - 1;
+        GameObject moved = objects.remove(last);
+        if (index != last) {
+            objects.set(index, moved);
+            indices.put(moved, index);
+        }
+        return true;
+    }
+
+    boolean contains(GameObject obj) {
+        return indices.containsKey(obj);
+    }
+
+    int size() {
+        return objects.size();
+    }
+
+    GameObject get(int index) {
+        return objects.get(index);
+    }
+
+    List<GameObject> view() {
+        return view;
+    }
+
+    void clear() {
+        objects.clear();
+        indices.clear();
+    }
+}
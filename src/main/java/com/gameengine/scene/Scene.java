@@ -1,35 +1,65 @@
 package com.gameengine.scene;
 
+import com.gameengine.core.ArchetypeStorage;
+import com.gameengine.core.EntityRegistry;
+import com.gameengine.core.CollisionListener;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.GameObjectPool;
+import com.gameengine.core.SystemScheduler;
 import com.gameengine.core.Component;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class Scene {
     private String name;
-    private List<GameObject> gameObjects;
+    private final EntityRegistry entities;
+    private final List<GameObject> gameObjectsView;
     private List<GameObject> objectsToAdd;
     private List<GameObject> objectsToRemove;
+    private final ArchetypeStorage archetypeStorage;
+    private final Map<String, EntityQuery> queries;
+    private final List<EntityQuery> queryList;
+    private final Map<String, GameObjectBucket> nameIndex;
+    private final Map<String, GameObjectBucket> tagIndex;
+    private final Map<String, GameObject> networkIndex;
     private boolean initialized;
+    private final List<CollisionListener> collisionListeners;
+    private float interpolationAlpha;
     
     public Scene(String name) {
         this.name = name;
-        this.gameObjects = new ArrayList<>();
+        this.entities = new EntityRegistry();
+        this.gameObjectsView = new GameObjectsView();
         this.objectsToAdd = new ArrayList<>();
         this.objectsToRemove = new ArrayList<>();
+        this.archetypeStorage = new ArchetypeStorage();
+        this.queries = new HashMap<>();
+        this.queryList = new ArrayList<>();
+        this.nameIndex = new HashMap<>();
+        this.tagIndex = new HashMap<>();
+        this.networkIndex = new HashMap<>();
         this.initialized = false;
+        this.interpolationAlpha = 1f;
+        this.collisionListeners = new ArrayList<>();
     }
     
     public void initialize() {
-        for (GameObject obj : gameObjects) {
-            obj.initialize();
+        for (int i = 0; i < entities.size(); i++) {
+            entities.getAt(i).initialize();
         }
         initialized = true;
     }
     
     public void update(float deltaTime) {
         for (GameObject obj : objectsToAdd) {
-            gameObjects.add(obj);
+            if (obj.getHandle() != EntityRegistry.INVALID_HANDLE) continue;
+            entities.create(obj);
+            obj.setScene(this);
+            archetypeStorage.attach(obj);
+            for (int i = 0; i < queryList.size(); i++) {
+                queryList.get(i).refresh(obj);
+            }
+            index(obj);
             if (initialized) {
                 obj.initialize();
             }
@@ -37,23 +67,30 @@ public class Scene {
         objectsToAdd.clear();
         
         for (GameObject obj : objectsToRemove) {
-            gameObjects.remove(obj);
+            if (obj.getScene() == this) {
+                detach(obj);
+                recycle(obj);
+            }
         }
         objectsToRemove.clear();
         
-        Iterator<GameObject> iterator = gameObjects.iterator();
-        while (iterator.hasNext()) {
-            GameObject obj = iterator.next();
+        // 停用对象就地 swap-remove，被换入的末尾对象在同一下标继续处理
+        int i = 0;
+        while (i < entities.size()) {
+            GameObject obj = entities.getAt(i);
             if (obj.isActive()) {
                 obj.update(deltaTime);
+                i++;
             } else {
-                iterator.remove();
+                detach(obj);
+                recycle(obj);
             }
         }
     }
     
     public void render() {
-        for (GameObject obj : gameObjects) {
+        for (int i = 0, n = entities.size(); i < n; i++) {
+            GameObject obj = entities.getAt(i);
             if (obj.isActive()) {
                 obj.render();
             }
@@ -64,21 +101,174 @@ public class Scene {
         objectsToAdd.add(gameObject);
     }
     
+    public void removeGameObject(GameObject gameObject) {
+        objectsToRemove.add(gameObject);
+    }
+    
+    public boolean isAlive(int handle) {
+        return entities.isAlive(handle);
+    }
+    
+    public GameObject resolve(int handle) {
+        return entities.get(handle);
+    }
+    
+    public void onComponentAdded(GameObject gameObject, Component<?> component) {
+        archetypeStorage.refresh(gameObject);
+        for (int i = 0; i < queryList.size(); i++) {
+            queryList.get(i).refresh(gameObject);
+        }
+    }
+    
+    public void onGameObjectDestroyed(GameObject gameObject) {
+        for (int i = 0; i < queryList.size(); i++) {
+            queryList.get(i).remove(gameObject);
+        }
+    }
+    
+    public void onGameObjectRenamed(GameObject gameObject, String oldName) {
+        removeFrom(nameIndex, oldName, gameObject);
+        addTo(nameIndex, gameObject.getName(), gameObject);
+    }
+    
+    public void onGameObjectRetagged(GameObject gameObject, String oldTag) {
+        removeFrom(tagIndex, oldTag, gameObject);
+        addTo(tagIndex, gameObject.getTag(), gameObject);
+    }
+    
+    public void onNetworkIdChanged(GameObject gameObject, String oldId) {
+        if (oldId != null && networkIndex.get(oldId) == gameObject) {
+            networkIndex.remove(oldId);
+        }
+        if (gameObject.getNetworkId() != null) {
+            networkIndex.put(gameObject.getNetworkId(), gameObject);
+        }
+    }
+    
+    private void detach(GameObject obj) {
+        archetypeStorage.detach(obj);
+        for (int i = 0; i < queryList.size(); i++) {
+            queryList.get(i).remove(obj);
+        }
+        unindex(obj);
+        entities.destroy(obj.getHandle());
+        obj.setScene(null);
+    }
+    
+    private void recycle(GameObject obj) {
+        GameObjectPool pool = obj.getPool();
+        if (pool != null) {
+            obj.setActive(false);
+            pool.release(obj);
+        }
+    }
+    
+    private void index(GameObject obj) {
+        addTo(nameIndex, obj.getName(), obj);
+        addTo(tagIndex, obj.getTag(), obj);
+        if (obj.getNetworkId() != null) {
+            networkIndex.put(obj.getNetworkId(), obj);
+        }
+    }
+    
+    private void unindex(GameObject obj) {
+        removeFrom(nameIndex, obj.getName(), obj);
+        removeFrom(tagIndex, obj.getTag(), obj);
+        String id = obj.getNetworkId();
+        if (id != null && networkIndex.get(id) == obj) {
+            networkIndex.remove(id);
+        }
+    }
+    
+    private static void addTo(Map<String, GameObjectBucket> index, String key, GameObject obj) {
+        if (key == null) return;
+        index.computeIfAbsent(key, k -> new GameObjectBucket()).add(obj);
+    }
+    
+    private static void removeFrom(Map<String, GameObjectBucket> index, String key, GameObject obj) {
+        if (key == null) return;
+        GameObjectBucket bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(obj);
+        }
+    }
+    
+    public GameObject findGameObjectByName(String name) {
+        GameObjectBucket bucket = nameIndex.get(name);
+        return bucket != null && bucket.size() > 0 ? bucket.get(0) : null;
+    }
+    
+    public List<GameObject> findGameObjectsByName(String name) {
+        GameObjectBucket bucket = nameIndex.get(name);
+        return bucket != null ? bucket.view() : Collections.emptyList();
+    }
+    
+    public GameObject findGameObjectByTag(String tag) {
+        GameObjectBucket bucket = tagIndex.get(tag);
+        return bucket != null && bucket.size() > 0 ? bucket.get(0) : null;
+    }
+    
+    // 按标签预筛选的只读实时列表，可由调用方缓存
+    public List<GameObject> getGameObjectsByTag(String tag) {
+        return tagIndex.computeIfAbsent(tag, k -> new GameObjectBucket()).view();
+    }
+    
+    public GameObject findGameObjectByNetworkId(String networkId) {
+        return networkId != null ? networkIndex.get(networkId) : null;
+    }
+    
+    // 返回缓存的查询视图，随对象加入、销毁与组件添加增量更新
+    public EntityQuery query(Class<?>... componentTypes) {
+        int[] ids = EntityQuery.idsOf(componentTypes);
+        String key = Arrays.toString(ids);
+        EntityQuery query = queries.get(key);
+        if (query == null) {
+            query = new EntityQuery(ids);
+            for (int i = 0; i < entities.size(); i++) {
+                GameObject obj = entities.getAt(i);
+                if (obj.isActive() && query.matches(obj)) {
+                    query.add(obj);
+                }
+            }
+            queries.put(key, query);
+            queryList.add(query);
+        }
+        return query;
+    }
+    
     public <T extends Component<T>> List<GameObject> findGameObjectsByComponent(Class<T> componentType) {
-        return gameObjects.stream()
-            .filter(obj -> obj.hasComponent(componentType))
-            .collect(Collectors.toList());
+        return new ArrayList<>(query(componentType).getEntities());
     }
     
     public <T extends Component<T>> List<T> getComponents(Class<T> componentType) {
-        return findGameObjectsByComponent(componentType).stream()
-            .map(obj -> obj.getComponent(componentType))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        EntityQuery query = query(componentType);
+        List<T> result = new ArrayList<>(query.size());
+        for (int i = 0; i < query.size(); i++) {
+            T component = query.get(i).getComponent(componentType);
+            if (component != null) {
+                result.add(component);
+            }
+        }
+        return result;
     }
     
     public void clear() {
-        gameObjects.clear();
+        archetypeStorage.clear();
+        for (EntityQuery query : queryList) {
+            query.clear();
+        }
+        for (GameObjectBucket bucket : nameIndex.values()) {
+            bucket.clear();
+        }
+        nameIndex.clear();
+        for (GameObjectBucket bucket : tagIndex.values()) {
+            bucket.clear();
+        }
+        networkIndex.clear();
+        for (int i = 0; i < entities.size(); i++) {
+            entities.getAt(i).setScene(null);
+        }
+        entities.clear();
         objectsToAdd.clear();
         objectsToRemove.clear();
     }
@@ -87,7 +277,68 @@ public class Scene {
         return name;
     }
     
+    // 监听器随场景存在，物理系统按场景重建时无需重新注册
+    public void addCollisionListener(CollisionListener listener) {
+        collisionListeners.add(listener);
+    }
+    
+    public void removeCollisionListener(CollisionListener listener) {
+        collisionListeners.remove(listener);
+    }
+    
+    public List<CollisionListener> getCollisionListeners() {
+        return collisionListeners;
+    }
+    
+    // 子类在此注册场景专属系统，引擎在场景更新之后、物理之前调度它们
+    public void registerSystems(SystemScheduler scheduler) {
+    }
+    
+    public ArchetypeStorage getArchetypeStorage() {
+        return archetypeStorage;
+    }
+    
+    // 由引擎在每帧渲染前设置：上一步与当前步之间的插值比例
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+    
+    public void setInterpolationAlpha(float alpha) {
+        this.interpolationAlpha = alpha;
+    }
+    
     public List<GameObject> getGameObjects() {
-        return new ArrayList<>(gameObjects);
+        return new ArrayList<>(gameObjectsView);
+    }
+    
+    // 只读视图：仅在 update 开头统一应用增删，帧内遍历不会被 addGameObject 打断
+    public List<GameObject> getGameObjectsView() {
+        return gameObjectsView;
+    }
+    
+    public int getGameObjectCount() {
+        return entities.size();
+    }
+    
+    public GameObject getGameObject(int index) {
+        return entities.getAt(index);
+    }
+    
+    public void forEachGameObject(Consumer<GameObject> action) {
+        for (int i = 0, n = entities.size(); i < n; i++) {
+            action.accept(entities.getAt(i));
+        }
+    }
+    
+    private class GameObjectsView extends AbstractList<GameObject> implements RandomAccess {
+        @Override
+        public GameObject get(int index) {
+            return entities.getAt(index);
+        }
+        
+        @Override
+        public int size() {
+            return entities.size();
+        }
     }
 }